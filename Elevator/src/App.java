@@ -2,14 +2,16 @@
 /*
  * This is an program which simulates elevators.
  *
- * You can add up to 16 elevators.
- * There is 10 floors, counting from 0.
+ * You can add as many elevators as you want.
+ * There is 11 floors, counting from 0. To choose another number of floors, start program with arguments:
+ * "interactive", number of floors and optionally zones separated by commas (ex. "1-20,21-39"),
+ * then elevators are given zones in turn and every elevator stops only in its zone and on the floor 0.
  * You can add as many people waiting on different floors as you want.
  * Elevator call buttons has the option to tell whether person wants to go up or down.
  *
  * To add new person, press 'a',
- * then press number from 0 - 10 representing floor on which person is waiting,
- * then again press number from 0 - 10 to tell on which floor the person wants to go.
+ * then press number of the floor on which person is waiting (from 0 to number of floors - 1, 0 - 10 by default),
+ * then again press number of the floor to tell on which floor the person wants to go.
  *
  * To check status of all elevators, press 'e'.
  *
@@ -19,17 +21,175 @@
  * All active elevators will move by one floor.
  * People are picked up automatically.
  *
- * !!!List of destination does not show actual queue of destination, it shows something similar!!!
+ * To replay a trace of calls without user interaction, start program with arguments:
+ * path to the trace file and optionally number of elevators (16 by default)
+ * and dispatch strategy: "nearest" (default), "cost",
+ * or "destination" when people enter their destination on the floor and calls are assigned in batches,
+ * and how many people fit in one elevator (any number by default),
+ * and directory where every change of the system is written ("-" or nothing if nothing is written),
+ * and number of floors (any number by default) and zones separated by commas (every elevator serves every floor by default).
+ * Only totals and percentiles of wait and ride times are printed at the end.
+ *
+ * To rebuild the system from written changes, start program with arguments:
+ * "replay", the directory and optionally dispatch strategy ("nearest" or "cost", the recorded one by default).
+ * Program tells whether replay went the same way as the recorded run.
+ *
+ * To write a trace of random calls, start program with arguments:
+ * "generate", path to the trace file, kind of traffic ("up-peak", "lunch", "down-peak" or "interfloor")
+ * and optionally number of floors (40 by default), mean number of calls on one tick (2 by default),
+ * number of ticks (10000 by default) and seed (42 by default).
+ *
+ * To run many simulations on all cores and write their results to a CSV file, start program with arguments:
+ * "sweep", path to the CSV file and optionally number of floors (40 by default), mean number of calls on one tick
+ * (2 by default), number of ticks (10000 by default), number of seeds of every configuration (8 by default),
+ * and lists separated by commas: numbers of elevators ("4,8,16" by default), capacities ("8" by default),
+ * dispatch strategies ("nearest,cost" by default), kinds of traffic (all by default) and zones (none by default).
  */
 
+import domain.Building;
+import enums.Traffic;
+import system.CostDispatch;
+import system.DispatchStrategy;
+import system.ElevatorSystem;
+import system.NearestDispatch;
+import system.Replay;
+import system.Sweep;
+import system.TrafficGenerator;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
 /**
  * This is a main class to start program
  */
 public class App {
-    public static void main(String[] args) {
-        ElevatorSystem system = new ElevatorSystem();
-        UI ui = new UI(system);
+    public static void main(String[] args) throws java.io.IOException {
+        if (args.length > 1 && args[0].equals("replay")) {
+            Path directory = Paths.get(args[1]);
+            Path output = directory.resolve("replay");
+            DispatchStrategy dispatchStrategy = args.length > 2 ? dispatchStrategy(args[2]) : null;
+            ElevatorSystem system = Replay.replay(directory, dispatchStrategy, Long.MAX_VALUE, output);
+            long ticks = Replay.compare(directory, output);
+            System.out.println(ticks < 0 ? "Replay went the same way as the recorded run"
+                    : "Replay went differently after " + ticks + " ticks");
+            System.out.println("People delivered: " + system.countPeopleDelivered());
+            System.out.println("People still inside: " + system.countPeopleInside());
+            System.out.println("People still waiting: " + system.countPeopleWaiting());
+            return;
+        }
+        if (args.length > 2 && args[0].equals("generate")) {
+            Traffic traffic = Traffic.valueOf(args[2].toUpperCase().replace('-', '_'));
+            int floors = args.length > 3 ? Integer.parseInt(args[3]) : 40;
+            double callsPerTick = args.length > 4 ? Double.parseDouble(args[4]) : 2;
+            long ticks = args.length > 5 ? Long.parseLong(args[5]) : 10_000;
+            long seed = args.length > 6 ? Long.parseLong(args[6]) : 42;
+            TrafficGenerator generator = new TrafficGenerator(new Building(floors), traffic, callsPerTick, seed);
+            long start = System.nanoTime();
+            long calls = generator.write(Paths.get(args[1]), ticks);
+            long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+            System.out.println("Calls written: " + calls + " in " + millis + " ms");
+            return;
+        }
+        if (args.length > 1 && args[0].equals("sweep")) {
+            int floors = args.length > 2 ? Integer.parseInt(args[2]) : 40;
+            double callsPerTick = args.length > 3 ? Double.parseDouble(args[3]) : 2;
+            long ticks = args.length > 4 ? Long.parseLong(args[4]) : 10_000;
+            Sweep sweep = new Sweep(floors, callsPerTick, ticks);
+            if (args.length > 5)
+                sweep.setSeeds(42, Integer.parseInt(args[5]));
+            if (args.length > 6)
+                sweep.setElevators(numbers(args[6]));
+            if (args.length > 7)
+                sweep.setCapacities(numbers(args[7]));
+            if (args.length > 8)
+                sweep.setStrategies(args[8].split(","));
+            if (args.length > 9) {
+                String[] names = args[9].split(",");
+                Traffic[] traffics = new Traffic[names.length];
+                for (int i = 0; i < names.length; i++)
+                    traffics[i] = Traffic.valueOf(names[i].trim().toUpperCase().replace('-', '_'));
+                sweep.setTraffics(traffics);
+            }
+            if (args.length > 10)
+                sweep.setZones(zones(args[10]));
+            long start = System.nanoTime();
+            long runs = sweep.run(Paths.get(args[1]));
+            long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+            System.out.println("Simulations run: " + runs + " in " + millis + " ms");
+            return;
+        }
+        if (args.length > 0 && !args[0].equals("interactive")) {
+            int numberOfElevators = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+            String strategy = args.length > 2 ? args[2] : "nearest";
+            //destination dispatch assigns batches itself, single calls left over go to the nearest elevator
+            DispatchStrategy dispatchStrategy = strategy.equals("destination") ? new NearestDispatch() : dispatchStrategy(strategy);
+            int window = strategy.equals("destination") ? 5 : 0;
+            int capacity = args.length > 3 ? Integer.parseInt(args[3]) : 0;
+            Building building = new Building(args.length > 5 ? Integer.parseInt(args[5]) : Integer.MAX_VALUE);
+            int[][] zones = args.length > 6 ? zones(args[6]) : new int[0][];
+            BatchSimulation simulation = new BatchSimulation(building, zones, numberOfElevators, 1_000_000, dispatchStrategy, window, capacity);
+            if (args.length > 4 && !args[4].equals("-"))
+                simulation.record(Paths.get(args[4]));
+            simulation.run(args[0]);
+            simulation.report();
+            return;
+        }
+
+        int floors = args.length > 1 ? Integer.parseInt(args[1]) : 11;
+        int[][] zones = args.length > 2 ? zones(args[2]) : new int[0][];
+        ElevatorSystem system = new ElevatorSystem(new Building(floors));
+        UI ui = new UI(system, zones);
 
         ui.startElevating();
     }
+
+    /**
+     * Creates dispatch strategy of given name
+     *
+     * @param name "nearest" or "cost"
+     * @return new strategy
+     * @throws IllegalArgumentException if there is no strategy of this name
+     */
+    private static DispatchStrategy dispatchStrategy(String name) {
+        switch (name) {
+            case "nearest":
+                return new NearestDispatch();
+            case "cost":
+                return new CostDispatch();
+            default:
+                throw new IllegalArgumentException("There is no strategy " + name);
+        }
+    }
+
+    /**
+     * Reads list of numbers
+     *
+     * @param list numbers separated by commas, ex. "4,8,16"
+     * @return array of numbers
+     */
+    private static int[] numbers(String list) {
+        String[] parts = list.split(",");
+        int[] numbers = new int[parts.length];
+        for (int i = 0; i < parts.length; i++)
+            numbers[i] = Integer.parseInt(parts[i].trim());
+        return numbers;
+    }
+
+    /**
+     * Reads list of zones
+     *
+     * @param list zones separated by commas, every zone is the lowest and the highest floor, ex. "1-20,21-39"
+     * @return the lowest and the highest floor of every zone
+     */
+    private static int[][] zones(String list) {
+        String[] parts = list.split(",");
+        int[][] zones = new int[parts.length][];
+        for (int i = 0; i < parts.length; i++) {
+            String[] floors = parts[i].split("-");
+            if (floors.length != 2)
+                throw new IllegalArgumentException("Wrong zone: " + parts[i]);
+            zones[i] = new int[]{Integer.parseInt(floors[0].trim()), Integer.parseInt(floors[1].trim())};
+        }
+        return zones;
+    }
 }
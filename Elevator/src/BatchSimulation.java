@@ -0,0 +1,195 @@
+import domain.Building;
+import domain.Elevator;
+import domain.Person;
+import system.DestinationDispatcher;
+import system.DispatchStrategy;
+import system.ElevatorSystem;
+import system.Journal;
+import system.PassengerMetrics;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.BitSet;
+
+/**
+ * This is a class which replays a trace of calls without any user interaction
+ *
+ * Every line of the trace describes one call: tick floor direction [weight]
+ * ex. "12 4 -3 82" means that on 12th tick person of 82 kilograms on 4th floor wants to go 3 floors below.
+ * Weight is optional, without it person has average weight.
+ * Ticks must not decrease, empty lines and lines starting with '#' are skipped.
+ * Trace is read line by line, so it can be as long as you want.
+ */
+class BatchSimulation {
+    private ElevatorSystem system; //system to control elevators
+    private DestinationDispatcher dispatcher; //collects calls and assigns them in batches, null if calls are assigned at once
+    private PassengerMetrics metrics; //wait and ride times of people
+    private Journal journal; //journal of every change, null if changes are not written
+    private long maxDrainTicks; //how many ticks elevators can work after the last call
+    private long tick; //current tick of the simulation
+    private long calls; //how many calls were replayed
+    private long skipped; //how many lines of the trace were not correct
+
+    /**
+     * BatchSimulation constructor initializes variables and adds elevators to the system
+     *
+     * @param building          shape of the building
+     * @param zones             the lowest and the highest floor of every zone, elevators are given zones in turn,
+     *                          empty if elevators serve every floor
+     * @param numberOfElevators how many elevators are in the building
+     * @param maxDrainTicks     how many ticks elevators can work after the last call
+     * @param dispatchStrategy  rule choosing which elevator handles a new call
+     * @param window            how many ticks calls are collected before being assigned in batches,
+     *                          0 if every call is assigned at once
+     * @param capacity          how many people fit in one elevator, 0 if any number of people fits
+     * @see DestinationDispatcher
+     * @see Building#zone(int[][], int)
+     */
+    BatchSimulation(Building building, int[][] zones, int numberOfElevators, long maxDrainTicks,
+                    DispatchStrategy dispatchStrategy, int window, int capacity) {
+        if (numberOfElevators < 1)
+            throw new IllegalArgumentException("Number of elevators must be at least 1");
+
+        system = new ElevatorSystem(building);
+        system.setDispatchStrategy(dispatchStrategy);
+        for (int i = 0; i < numberOfElevators; i++) {
+            BitSet servedFloors = building.zone(zones, i);
+            system.addElevator(capacity > 0 ? new Elevator(i + 1, capacity, capacity * Person.AVERAGE_WEIGHT, servedFloors)
+                    : new Elevator(i + 1, Integer.MAX_VALUE, Integer.MAX_VALUE, servedFloors));
+        }
+        metrics = new PassengerMetrics(system);
+        this.maxDrainTicks = maxDrainTicks;
+        if (window > 0)
+            dispatcher = new DestinationDispatcher(system, window, 4);
+    }
+
+    /**
+     * Starts writing every change of the system, journal is closed when the trace ends
+     *
+     * @param directory where snapshot and journal are written
+     * @throws IOException if journal can not be written
+     * @see system.Replay
+     */
+    void record(Path directory) throws IOException {
+        journal = Journal.start(system, directory, 10_000);
+    }
+
+    /**
+     * Replays given trace and lets elevators finish their work
+     *
+     * @param trace path to the trace file
+     * @throws IOException if trace can not be read or journal can not be written
+     */
+    void run(String trace) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(trace), StandardCharsets.US_ASCII)) {
+            String line;
+            while ((line = reader.readLine()) != null)
+                replay(line);
+
+            //let elevators deliver everyone who is still waiting or riding, it can end only on a tick with an event
+            long drained = 0;
+            while (drained < maxDrainTicks && !isIdle()) {
+                long ticks = dispatcher != null ? 1 : Math.min(system.nextEvent() - system.getTime(), maxDrainTicks - drained);
+                advance(ticks);
+                drained += ticks;
+            }
+        } finally {
+            if (journal != null)
+                journal.close();
+        }
+    }
+
+    /**
+     * Moves all elevators by given number of ticks, ticks without events are skipped unless calls are collected
+     *
+     * @param ticks how many ticks pass
+     * @see ElevatorSystem#advance(long)
+     */
+    private void advance(long ticks) {
+        if (dispatcher != null) {
+            for (long i = 0; i < ticks; i++)
+                dispatcher.advance();
+        } else {
+            system.advance(ticks);
+        }
+        tick += ticks;
+    }
+
+    /**
+     * Checks whether simulation has nothing left to do
+     *
+     * @return true if no elevator is moving and no one is waiting
+     */
+    private boolean isIdle() {
+        return system.isIdle() && (dispatcher == null || !dispatcher.hasWaitingCalls());
+    }
+
+    /**
+     * Replays single line of the trace
+     *
+     * @param line to be replayed
+     */
+    private void replay(String line) {
+        line = line.trim();
+        if (line.isEmpty() || line.charAt(0) == '#')
+            return;
+
+        long callTick;
+        int floor;
+        int direction;
+        int weight;
+        try {
+            int first = line.indexOf(' ');
+            int second = line.indexOf(' ', first + 1);
+            if (first < 0 || second < 0) {
+                skipped++;
+                return;
+            }
+            int third = line.indexOf(' ', second + 1);
+            callTick = Long.parseLong(line.substring(0, first));
+            floor = Integer.parseInt(line.substring(first + 1, second).trim());
+            direction = Integer.parseInt(line.substring(second + 1, third < 0 ? line.length() : third).trim());
+            weight = third < 0 ? Person.AVERAGE_WEIGHT : Integer.parseInt(line.substring(third + 1).trim());
+        } catch (NumberFormatException e) {
+            skipped++;
+            return;
+        }
+
+        //call must not go back in time and person must want to go somewhere
+        if (callTick < tick || floor < 0 || direction == 0 || floor + direction < 0) {
+            skipped++;
+            return;
+        }
+
+        advance(callTick - tick);
+        //call between floors without common elevator or of a person too heavy for every elevator is not correct
+        try {
+            if (dispatcher != null)
+                dispatcher.call(floor, floor + direction, weight);
+            else
+                system.pickup(floor, direction, weight);
+        } catch (IllegalArgumentException e) {
+            skipped++;
+            return;
+        }
+        calls++;
+    }
+
+    /**
+     * Prints totals of the simulation
+     */
+    void report() {
+        System.out.println("Ticks simulated: " + tick);
+        System.out.println("Calls replayed: " + calls);
+        System.out.println("Lines skipped: " + skipped);
+        System.out.println("People delivered: " + system.countPeopleDelivered());
+        System.out.println("People still inside: " + system.countPeopleInside());
+        System.out.println("People still waiting: " + system.countPeopleWaiting());
+        System.out.println("Wait time in ticks: " + metrics.getWaitTimes());
+        System.out.println("Ride time in ticks: " + metrics.getRideTimes());
+    }
+}
@@ -1,4 +1,7 @@
 import domain.Elevator;
+import system.ElevatorSystem;
+import system.StatusPrinter;
+import system.StatusPublisher;
 
 import java.util.Scanner;
 
@@ -8,15 +11,20 @@ import java.util.Scanner;
 class UI {
     private Scanner scanner; //scanner to read user's input
     private ElevatorSystem system; //system to control elevators
+    private int[][] zones; //the lowest and the highest floor of every zone, empty if elevators serve every floor
+    private StatusPublisher.Subscription status; //changes of elevators printed after every step
 
     /**
      * UI constructor initializes instance variable
      *
      * @param system is a system which control elevators
+     * @param zones  the lowest and the highest floor of every zone, elevators are given zones in turn,
+     *               empty if elevators serve every floor
      */
-    UI(ElevatorSystem system) {
+    UI(ElevatorSystem system, int[][] zones) {
         scanner = new Scanner(System.in);
         this.system = system;
+        this.zones = zones;
     }
 
     /**
@@ -25,13 +33,13 @@ class UI {
     void startElevating() {
         System.out.println("How many elevators?");
         int numberOfElevators;
-        //checking if number is higher than 0 and lower than 16
+        //checking if number is higher than 0
         while (true) {
             try {
                 numberOfElevators = Integer.parseInt(scanner.nextLine());
 
-                if (numberOfElevators < 1 || numberOfElevators > 16) {
-                    System.out.println("Number of elevators must be between 1 - 16!\n" +
+                if (numberOfElevators < 1) {
+                    System.out.println("Number of elevators must be at least 1!\n" +
                             "How many elevators?");
                     continue;
                 }
@@ -46,8 +54,12 @@ class UI {
 
         //adding all elevators to the system
         for (int i = 0; i < numberOfElevators; i++) {
-            system.addElevator(new Elevator(i + 1));
+            system.addElevator(new Elevator(i + 1, Integer.MAX_VALUE, Integer.MAX_VALUE, system.getBuilding().zone(zones, i)));
         }
+        //one step changes every elevator at most once, so the buffer holds changes of two steps
+        StatusPublisher publisher = new StatusPublisher(2 * system.countElevators());
+        system.setStatusPublisher(publisher);
+        status = publisher.subscribe(new StatusPrinter(System.out));
         //printing the menu
         while (true) {
             System.out.println("\nPress:\n" +
@@ -62,13 +74,14 @@ class UI {
             if (response.equals("a")) {
                 System.out.println("On which floor: ");
                 int floor;
-                //checking if floor is lower than 11 and higher than -1
+                int highest = system.getBuilding().getFloors() - 1;
+                //checking if floor is in the building
                 while (true) {
                     try {
                         floor = Integer.parseInt(scanner.nextLine());
 
-                        if (floor < 0 || floor > 10) {
-                            System.out.println("Choose floor from 0 to 10!\n" +
+                        if (floor < 0 || floor > highest) {
+                            System.out.println("Choose floor from 0 to " + highest + "!\n" +
                                     "On which floor?");
                             continue;
                         }
@@ -82,13 +95,13 @@ class UI {
                 }
                 System.out.println("Where to go: ");
                 int dir;
-                //checking if destination is lower than 11 and higher than -1
+                //checking if destination is in the building
                 while (true) {
                     try {
                         dir = Integer.parseInt(scanner.nextLine());
 
-                        if (dir < 0 || dir > 10) {
-                            System.out.println("You can't go upper than 10 or lower than 0!\n" +
+                        if (dir < 0 || dir > highest) {
+                            System.out.println("You can't go upper than " + highest + " or lower than 0!\n" +
                                     "Where to go: ");
                             continue;
                         }
@@ -107,11 +120,18 @@ class UI {
 
                     break;
                 }
-                system.pickup(floor, dir - floor);
+                //in a building with zones no elevator may go between the floors
+                try {
+                    system.pickup(floor, dir - floor);
+                } catch (IllegalArgumentException e) {
+                    System.out.println(e.getMessage() + "!");
+                }
                 continue;
             }
             if (response.equals("s")) {
                 system.step();
+                //only elevators which changed are printed
+                status.poll(Integer.MAX_VALUE);
                 continue;
             }
             if (response.equals("e")) {
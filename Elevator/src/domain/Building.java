@@ -0,0 +1,102 @@
+package domain;
+
+import java.util.BitSet;
+
+/**
+ * This is a class which represent shape of the building
+ *
+ * Floors are counted from 0, floor 0 is the main lobby.
+ * Lobbies are floors served by every elevator, so people can change elevators there.
+ * Tall buildings are split into zones, elevator serving a zone stops only in lobbies and on floors of its zone,
+ * so elevators serving zones far from the lobby work as express elevators.
+ */
+public class Building {
+    private int floors; //how many floors are in the building
+    private BitSet lobbies; //floors served by every elevator
+
+    /**
+     * Building constructor initializes variables
+     *
+     * @param floors how many floors are in the building, counting from 0
+     */
+    public Building(int floors) {
+        if (floors < 2)
+            throw new IllegalArgumentException("Building must have at least 2 floors");
+
+        this.floors = floors;
+        lobbies = new BitSet();
+        lobbies.set(0);
+    }
+
+    /**
+     * Getter of floors
+     *
+     * @return how many floors are in the building
+     */
+    public int getFloors() {
+        return floors;
+    }
+
+    /**
+     * Getter of lobbies
+     *
+     * @return copy of floors served by every elevator
+     */
+    public BitSet getLobbies() {
+        return (BitSet) lobbies.clone();
+    }
+
+    /**
+     * Checks whether floor is in the building
+     *
+     * @param floor to be checked
+     * @return true if floor is between 0 and the highest floor
+     */
+    public boolean hasFloor(int floor) {
+        return floor >= 0 && floor < floors;
+    }
+
+    /**
+     * Adds lobby, like a sky lobby where people change from express to local elevators
+     *
+     * @param floor of the lobby
+     */
+    public void addLobby(int floor) {
+        if (!hasFloor(floor))
+            throw new IllegalArgumentException("There is no floor " + floor);
+
+        lobbies.set(floor);
+    }
+
+    /**
+     * Creates set of floors served by elevator of given zone
+     *
+     * @param lowest  the lowest floor of the zone
+     * @param highest the highest floor of the zone
+     * @return all lobbies and all floors from lowest to highest
+     */
+    public BitSet zone(int lowest, int highest) {
+        if (!hasFloor(lowest) || !hasFloor(highest) || lowest > highest)
+            throw new IllegalArgumentException("Wrong zone: " + lowest + " - " + highest);
+
+        BitSet served = (BitSet) lobbies.clone();
+        served.set(lowest, highest + 1);
+        return served;
+    }
+
+    /**
+     * Creates set of floors served by elevator when elevators are given zones in turn
+     *
+     * @param zones    the lowest and the highest floor of every zone, empty if elevators serve every floor
+     * @param elevator number of the elevator, counting from 0
+     * @return all lobbies and all floors of the zone of the elevator, null if elevator serves every floor
+     */
+    public BitSet zone(int[][] zones, int elevator) {
+        if (zones.length == 0)
+            return null;
+        int[] zone = zones[elevator % zones.length];
+        if (zone.length != 2)
+            throw new IllegalArgumentException("Zone must have the lowest and the highest floor");
+        return zone(zone[0], zone[1]);
+    }
+}
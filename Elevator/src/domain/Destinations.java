@@ -0,0 +1,292 @@
+package domain;
+
+import java.util.Arrays;
+
+/**
+ * This is a class which represent queue of destinations of an elevator
+ *
+ * Floors are kept in order of visiting in a circular array of ints,
+ * and every floor in the queue is also marked in a bitset,
+ * so checking whether floor is in the queue and removing the first floor do not walk the queue.
+ * Second bitset tells which floors are visited while going down, the rest is visited while going up,
+ * so the place of a new floor is counted without walking the queue too.
+ * Only elevator can change the queue, everyone else gets read-only access.
+ */
+public class Destinations {
+    private int[] floors; //circular array of floors, its length is always a power of two
+    private int head; //index of the first floor in the array
+    private int size; //how many floors are in the queue
+    private long[] present; //bitset of floors which are in the queue
+    private long[] goingDown; //bitset of floors in the queue which are visited while going down
+    private Elevator owner; //elevator which visits floors from this queue
+    private ElevatorListener listener; //listener told about every change of the queue, can be null
+    private long changes; //how many times floors were added or removed
+
+    /**
+     * Destinations constructor initializes variables
+     *
+     * @param owner elevator which visits floors from this queue
+     */
+    Destinations(Elevator owner) {
+        this.owner = owner;
+        floors = new int[16];
+        head = 0;
+        size = 0;
+        present = new long[1];
+        goingDown = new long[1];
+    }
+
+    /**
+     * Getter of size
+     *
+     * @return how many floors are in the queue
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether queue is empty
+     *
+     * @return true if there are no floors to visit
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Getter of floor on given position
+     *
+     * @param index position in the queue, 0 is the next floor to visit
+     * @return floor on given position
+     */
+    public int get(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        return floors[(head + index) & (floors.length - 1)];
+    }
+
+    /**
+     * Getter of the next floor to visit
+     *
+     * @return first floor in the queue
+     */
+    public int first() {
+        return get(0);
+    }
+
+    /**
+     * Checks whether floor is in the queue
+     *
+     * @param floor to be checked
+     * @return true if elevator is going to visit given floor
+     */
+    public boolean contains(int floor) {
+        int word = floor >>> 6;
+        return floor >= 0 && word < present.length && (present[word] & (1L << floor)) != 0;
+    }
+
+    /**
+     * Checks whether floor in the queue is visited while going down
+     *
+     * @param floor to be checked
+     * @return true if floor is in the queue and it is visited while going down
+     */
+    public boolean isGoingDown(int floor) {
+        return contains(floor) && (goingDown[floor >>> 6] & (1L << floor)) != 0;
+    }
+
+    /**
+     * Counts floors in the queue which are visited in given direction
+     *
+     * @param from the lowest floor counted
+     * @param to   floor above the highest floor counted
+     * @param down true to count floors visited while going down, false to count floors visited while going up
+     * @return number of such floors from given range
+     */
+    int count(int from, int to, boolean down) {
+        from = Math.max(from, 0);
+        to = Math.min(to, present.length << 6);
+        int count = 0;
+        for (int word = from >>> 6; from < to; word++) {
+            long bits = down ? present[word] & goingDown[word] : present[word] & ~goingDown[word];
+            //bits below from and from to above are dropped
+            bits &= -1L << from;
+            if (to - (word << 6) < 64)
+                bits &= (1L << to) - 1;
+            count += Long.bitCount(bits);
+            from = (word + 1) << 6;
+        }
+        return count;
+    }
+
+    /**
+     * Tells in which direction floor in the queue is visited
+     *
+     * @param floor in the queue
+     * @param down  true if floor is visited while going down
+     */
+    void setGoingDown(int floor, boolean down) {
+        if (down)
+            goingDown[floor >>> 6] |= 1L << floor;
+        else
+            goingDown[floor >>> 6] &= ~(1L << floor);
+    }
+
+    /**
+     * Adds floor to the end of the queue
+     *
+     * @param floor to be added
+     */
+    void add(int floor) {
+        add(size, floor);
+    }
+
+    /**
+     * Adds floor on given position, floors after it are moved by one
+     *
+     * @param index position in the queue
+     * @param floor to be added
+     */
+    void add(int index, int floor) {
+        if (index < 0 || index > size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        if (floor < 0)
+            throw new IllegalArgumentException("Floor must not be negative: " + floor);
+
+        if (size == floors.length)
+            grow();
+
+        int mask = floors.length - 1;
+        //moving to the front is cheaper if floor is added in the first half
+        if (index < size / 2) {
+            head = (head - 1) & mask;
+            for (int i = 0; i < index; i++)
+                floors[(head + i) & mask] = floors[(head + i + 1) & mask];
+        } else {
+            for (int i = size; i > index; i--)
+                floors[(head + i) & mask] = floors[(head + i - 1) & mask];
+        }
+        floors[(head + index) & mask] = floor;
+        size++;
+        changes++;
+        mark(floor);
+        if (listener != null)
+            listener.destinationAdded(owner, floor);
+    }
+
+    /**
+     * Removes the next floor to visit
+     *
+     * @return removed floor
+     */
+    int removeFirst() {
+        int floor = first();
+        head = (head + 1) & (floors.length - 1);
+        size--;
+        changes++;
+        unmark(floor);
+        if (listener != null)
+            listener.destinationRemoved(owner, floor);
+        return floor;
+    }
+
+    /**
+     * Removes given floor from the queue
+     *
+     * @param floor to be removed
+     * @return true if floor was in the queue
+     */
+    boolean removeFloor(int floor) {
+        if (!contains(floor))
+            return false;
+
+        int mask = floors.length - 1;
+        int index = 0;
+        while (floors[(head + index) & mask] != floor)
+            index++;
+
+        if (index == 0) {
+            removeFirst();
+            return true;
+        }
+
+        for (int i = index; i < size - 1; i++)
+            floors[(head + i) & mask] = floors[(head + i + 1) & mask];
+        size--;
+        changes++;
+        unmark(floor);
+        if (listener != null)
+            listener.destinationRemoved(owner, floor);
+        return true;
+    }
+
+    /**
+     * Getter of changes, queue is the same as before as long as this number is the same
+     *
+     * @return how many times floors were added or removed
+     */
+    public long getChanges() {
+        return changes;
+    }
+
+    /**
+     * Setter of listener
+     *
+     * @param listener to be told about every change of the queue, null to stop telling
+     */
+    void setListener(ElevatorListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Doubles size of the array, first floor is moved to the beginning
+     */
+    private void grow() {
+        int[] bigger = new int[floors.length * 2];
+        for (int i = 0; i < size; i++)
+            bigger[i] = floors[(head + i) & (floors.length - 1)];
+        floors = bigger;
+        head = 0;
+    }
+
+    /**
+     * Marks floor in the bitset, bitsets grow if needed
+     *
+     * @param floor to be marked
+     */
+    private void mark(int floor) {
+        int word = floor >>> 6;
+        if (word >= present.length) {
+            present = Arrays.copyOf(present, Math.max(word + 1, present.length * 2));
+            goingDown = Arrays.copyOf(goingDown, present.length);
+        }
+        present[word] |= 1L << floor;
+    }
+
+    /**
+     * Unmarks floor in both bitsets
+     *
+     * @param floor to be unmarked
+     */
+    private void unmark(int floor) {
+        present[floor >>> 6] &= ~(1L << floor);
+        goingDown[floor >>> 6] &= ~(1L << floor);
+    }
+
+    /**
+     * Prints floors in order of visiting
+     *
+     * @return string like [3, 7, 2]
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0)
+                builder.append(", ");
+            builder.append(get(i));
+        }
+        return builder.append(']').toString();
+    }
+}
@@ -9,24 +9,94 @@ import java.util.*;
  */
 public class Elevator {
     private int ID; //elevator's unique ID
-    private Integer currentFloor; //current floor of the elevator
-    private int peopleInside; //how many people are in the elevator
-    private Map<Integer, List<Person>> people; //map of people inside and their destinations
-    private LinkedList<Integer> destinations; //list of destinations of the elevator
-    private Direction direction; //direction of the elevator
+    private Fleet fleet; //fleet keeping floor, direction, next stop, people inside and load of the elevator
+    private int slot; //position of the elevator in its fleet
+    private int capacity; //how many people can be in the elevator at once
+    private int maxLoad; //how many kilograms elevator can carry
+    private long peopleDelivered; //how many people left the elevator on their desired floor
+    private List<List<Person>> people; //people inside on positions of their destinations
+    private BitSet servedFloors; //floors on which elevator can stop, null if it can stop on every floor
+    private Destinations destinations; //queue of destinations of the elevator
+    private int parkingFloor; //floor where elevator goes only to wait for calls, -1 if it is not parking
+    private PassengerListener passengerListener; //listener told when people get in and out, null if there is none
+    private PersonPool pool; //people who left the elevator, ready to be used again
 
     /**
-     * Elevator constructor initializes variables
+     * Elevator constructor initializes variables, elevator can take any number of people
      *
      * @param ID unique number of the elevator
      */
     public Elevator(int ID) {
+        this(ID, Integer.MAX_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Elevator constructor initializes variables
+     *
+     * @param ID       unique number of the elevator
+     * @param capacity how many people can be in the elevator at once
+     * @param maxLoad  how many kilograms elevator can carry
+     */
+    public Elevator(int ID, int capacity, int maxLoad) {
+        this(ID, capacity, maxLoad, null);
+    }
+
+    /**
+     * Elevator constructor initializes variables, elevator starts on the lowest floor it serves
+     *
+     * @param ID           unique number of the elevator
+     * @param capacity     how many people can be in the elevator at once
+     * @param maxLoad      how many kilograms elevator can carry
+     * @param servedFloors floors on which elevator can stop, null if it can stop on every floor
+     * @see Building#zone(int, int)
+     */
+    public Elevator(int ID, int capacity, int maxLoad, BitSet servedFloors) {
+        if (capacity < 1 || maxLoad < 1)
+            throw new IllegalArgumentException("Capacity and load must be at least 1");
+        if (servedFloors != null && servedFloors.isEmpty())
+            throw new IllegalArgumentException("Elevator must serve at least one floor");
+
         this.ID = ID;
-        currentFloor = 0;
-        peopleInside = 0;
-        people = new HashMap<>();
-        destinations = new LinkedList<>();
-        direction = Direction.STAY;
+        this.capacity = capacity;
+        this.maxLoad = maxLoad;
+        this.servedFloors = servedFloors == null ? null : (BitSet) servedFloors.clone();
+        fleet = new Fleet(1);
+        slot = fleet.create(this, servedFloors == null ? 0 : servedFloors.nextSetBit(0));
+        peopleDelivered = 0;
+        people = new ArrayList<>();
+        destinations = new Destinations(this);
+        parkingFloor = -1;
+        pool = new PersonPool();
+    }
+
+
+    /**
+     * Getter of ID
+     *
+     * @return unique number of the elevator
+     */
+    public int getID() {
+        return ID;
+    }
+
+
+    /**
+     * Getter of capacity
+     *
+     * @return how many people can be in the elevator at once
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+
+    /**
+     * Getter of max load
+     *
+     * @return how many kilograms elevator can carry
+     */
+    public int getMaxLoad() {
+        return maxLoad;
     }
 
 
@@ -36,20 +106,134 @@ public class Elevator {
      * @return current floor of the elevator
      */
     public int getCurrentFloor() {
-        return currentFloor;
+        return fleet.floors[slot];
+    }
+
+
+    /**
+     * Getter of fleet
+     *
+     * @return fleet keeping state of the elevator
+     */
+    public Fleet getFleet() {
+        return fleet;
+    }
+
+
+    /**
+     * Getter of slot
+     *
+     * @return position of the elevator in its fleet
+     */
+    public int getSlot() {
+        return slot;
+    }
+
+
+    /**
+     * Changes fleet keeping state of the elevator, state was already copied there
+     *
+     * @param fleet new fleet of the elevator
+     * @param slot  position of the elevator in the new fleet
+     * @see Fleet#add(Elevator)
+     */
+    void moveTo(Fleet fleet, int slot) {
+        this.fleet = fleet;
+        this.slot = slot;
+    }
+
+
+    /**
+     * Restores position, direction and queue of the elevator saved before, for example after restart of the system
+     *
+     * @param currentFloor    current floor of the elevator
+     * @param direction       direction of the elevator
+     * @param destinations    queue of destinations in the saved order
+     * @param goingDown       destinations visited while going down
+     * @param parkingFloor    floor where elevator goes only to wait for calls, -1 if it is not parking
+     * @param peopleDelivered how many people left the elevator on their desired floor
+     * @param floorsTravelled how many floors the elevator passed
+     * @throws IllegalStateException if the elevator was used already
+     * @see Destinations#isGoingDown(int)
+     */
+    public void restore(int currentFloor, Direction direction, int[] destinations, BitSet goingDown, int parkingFloor,
+                        long peopleDelivered, long floorsTravelled) {
+        if (!this.destinations.isEmpty() || getPeopleInside() > 0 || this.peopleDelivered > 0)
+            throw new IllegalStateException("Only new elevator can be restored");
+
+        fleet.floors[slot] = currentFloor;
+        fleet.directions[slot] = (byte) direction.ordinal();
+        for (int destination : destinations)
+            this.destinations.add(destination);
+        RoutePlanner.restore(this.destinations, goingDown);
+        this.parkingFloor = parkingFloor;
+        this.peopleDelivered = peopleDelivered;
+        fleet.travelled[slot] = floorsTravelled;
+        refreshStop();
+    }
+
+
+    /**
+     * Checks whether elevator can stop on given floor
+     *
+     * @param floor to be checked
+     * @return true if floor is served by this elevator
+     */
+    public boolean serves(int floor) {
+        return floor >= 0 && (servedFloors == null || servedFloors.get(floor));
+    }
+
+    /**
+     * Getter of served floors
+     *
+     * @return copy of floors on which elevator can stop, null if it can stop on every floor
+     */
+    public BitSet getServedFloors() {
+        return servedFloors == null ? null : (BitSet) servedFloors.clone();
     }
 
 
     /**
      * Getter of destinations
      *
-     * @return destinations of the elevator
+     * @return read-only queue of destinations of the elevator
      */
-    public LinkedList<Integer> getDestination() {
+    public Destinations getDestination() {
         return destinations;
     }
 
 
+    /**
+     * Setter of listener
+     *
+     * @param listener to be told about every change in the queue of destinations, null to stop telling
+     */
+    public void setListener(ElevatorListener listener) {
+        destinations.setListener(listener);
+    }
+
+
+    /**
+     * Getter of pool
+     *
+     * @return people who left the elevator, it can be used only while the elevator is not moving
+     * @see PersonPool#refill(PersonPool)
+     */
+    public PersonPool getPool() {
+        return pool;
+    }
+
+
+    /**
+     * Setter of passenger listener
+     *
+     * @param passengerListener to be told when people get in and out, null to stop telling
+     */
+    public void setPassengerListener(PassengerListener passengerListener) {
+        this.passengerListener = passengerListener;
+    }
+
+
     /**
      * Adds new destination to list of destinations.
      *
@@ -57,188 +241,358 @@ public class Elevator {
      * @param dir         - direction describing where person wants to go
      *                    ex: if person is on 4th floor and he wants to go to 10th floor: direction will be UP,
      *                    but if person is in the elevator and he wants to go to somewhere direction will be STAY
-     * @see #addInRightSpot(int, Direction)
-     * This is not simple FCFS (first come fist serve) system, it tries to add new destination in the best place
-     * in the list of destinations rather than adding new request to the end of the list
+     * @see RoutePlanner
+     * This is not simple FCFS (first come fist serve) system, destination is put in the sweep of the route
+     * in which elevator goes the same way as the person, so elevator goes up and down like LOOK algorithm
      */
     public void addDestination(int destination, Direction dir) {
+        if (!serves(destination))
+            throw new IllegalArgumentException("Elevator " + ID + " does not stop on the floor " + destination);
+
+        //elevator which has real work does not need to wait anywhere, so it does not go to its parking floor any more
+        if (parkingFloor != -1) {
+            if (parkingFloor != destination)
+                destinations.removeFloor(parkingFloor);
+            parkingFloor = -1;
+            refreshStop();
+        }
+
         //if elevator already has given destination in the list of destinations, do nothing
         if (destinations.contains(destination)) {
             return;
         }
 
-        //if elevator is not busy at all, add destination to queue and set direction to destined floor
-        if (destinations.isEmpty()) {
-            destinations.add(destination);
+        //if elevator is not busy at all, set direction to destined floor
+        int currentFloor = fleet.floors[slot];
+        Direction direction = getDirection();
+        if (destinations.isEmpty())
             direction = destination - currentFloor > 0 ? Direction.UP : Direction.DOWN;
-            return;
-        }
-
-        //if elevator is going up, pick everything on its way (if direction is same as elevator or STAY)
-        if (direction == Direction.UP) { //destinations.get(0) > destination &&
-            if (destination > currentFloor && (dir == Direction.UP || dir == Direction.STAY)) {
-                addInRightSpot(destination, dir);
-                return;
-            }
-        }
-
-        //if elevator is going down, pick everything on its way (if direction is same as elevator or STAY)
-        if (direction == Direction.DOWN) {
-            if (destination < currentFloor && (dir == Direction.DOWN || dir == Direction.STAY)) {
-                addInRightSpot(destination, dir);
-                return;
-            }
-        }
+        else if (direction == Direction.STAY)
+            direction = destinations.first() - currentFloor > 0 ? Direction.UP : Direction.DOWN;
 
-        //if none of above is matched, add destination to the end of the list
-        destinations.addLast(destination);
+        boolean down = RoutePlanner.goesDown(destination, dir, currentFloor, direction);
+        destinations.add(RoutePlanner.place(destinations, destination, down, currentFloor, direction), destination);
+        destinations.setGoingDown(destination, down);
 
         //set direction to destined floor
-        direction = destinations.get(0) - currentFloor > 0 ? Direction.UP : Direction.DOWN;
+        setDirection(destinations.first() - currentFloor > 0 ? Direction.UP : Direction.DOWN);
+        refreshStop();
     }
 
     /**
-     * Adds given destination to the list of destinations
+     * Sends elevator with nothing to do to the floor where it waits for calls,
+     * this trip is dropped as soon as elevator gets any destination
      *
-     * @param floor to be added to the list of destinations
-     * @param dir   - direction describing where person wants to go
-     *              same explanation as in method addDirection
-     * @see #findRightSpot(int, Direction)
+     * @param floor where elevator should wait
+     * @throws IllegalStateException if elevator has people inside or destinations
      */
-    private void addInRightSpot(int floor, Direction dir) {
-        if (destinations.size() >= 2) destinations.add(findRightSpot(floor, dir), floor);
-        else {
-            if (dir == Direction.UP || (dir == Direction.STAY && direction == Direction.UP))
-                destinations.add(destinations.get(0) > floor ? 0 : 1, floor);
-            else
-                destinations.add(destinations.get(0) < floor ? 0 : 1, floor);
-        }
+    public void park(int floor) {
+        if (!canPark())
+            throw new IllegalStateException("Elevator " + ID + " is busy and can not be parked");
+
+        addDestination(floor, Direction.STAY);
+        parkingFloor = floor;
     }
 
     /**
-     * Finds best place in list of destinations to put new destination
+     * Checks whether elevator has nothing to do, so it can be sent to a parking floor
      *
-     * @param floor to be added to the list of destinations
-     * @param dir   direction describing where person wants to go
-     *              same explanation as in method addDirection
-     * @return index describing where put new destination
+     * @return true if elevator has no people inside and no destinations
      */
-    private int findRightSpot(int floor, Direction dir) {
-        for (int i = 0; i < destinations.size() - 1; i++) {
-            //if direction of the elevator (UP) matches direction of the person (UP or STAY)
-            if (dir == Direction.UP || (dir == Direction.STAY && direction == Direction.UP)) {
-                //if i destination on the list is higher than given destination return its index
-                if (destinations.get(i) > floor)
-                    return i;
-
-                //if after i destination elevator will go down, return i + 1 index (adding destination before elevator will go down)
-                //if i + 1 destination on the list is higher than given destination return its index
-                if (destinations.get(i) > destinations.get(i + 1) || destinations.get(i + 1) > floor)
-                    return i + 1;
-            } else { //if direction of the elevator (DOWN) matches direction of the person (DOWN or STAY)
-                //if i destination on the list is lower than given destination return its index
-                if (destinations.get(i) < floor)
-                    return i;
+    public boolean canPark() {
+        return getPeopleInside() == 0 && destinations.isEmpty();
+    }
 
-                //if after i destination elevator will go up, return i + 1 index (adding destination before elevator will go up)
-                //if i + 1 destination on the list is lower than given destination return its index
-                if (destinations.get(i) < destinations.get(i + 1) || destinations.get(i + 1) < floor)
-                    return i + 1;
-            }
-        }
-        //if none of above is matched return last index
-        return destinations.size();
+    /**
+     * Getter of parking floor
+     *
+     * @return floor where elevator goes only to wait for calls, -1 if it is not parking
+     */
+    public int getParkingFloor() {
+        return parkingFloor;
     }
 
     /**
      * Adds a person to the list of people
      *
      * @param person to be add
+     * @param now    time when person gets in
      */
-    public void addPerson(Person person) {
-        if (!people.containsKey(person.getDesiredFloor()))
-            people.put(person.getDesiredFloor(), new ArrayList<>());
+    public void addPerson(Person person, long now) {
+        while (people.size() <= person.getDesiredFloor())
+            people.add(new ArrayList<>());
 
         people.get(person.getDesiredFloor()).add(person);
-        peopleInside++;
+        fleet.peopleInside[slot]++;
+        fleet.loads[slot] += person.getWeight();
+        person.setBoardedAt(now);
+        if (passengerListener != null)
+            passengerListener.personBoarded(this, person);
+        refreshStop();
+    }
+
+    /**
+     * Checks whether empty elevator can carry person
+     *
+     * @param weight of the person in kilograms
+     * @return true if weight is not above the biggest load
+     */
+    public boolean canCarry(int weight) {
+        return weight <= maxLoad;
+    }
+
+    /**
+     * Checks whether person fits in the elevator
+     *
+     * @param person who wants to get in
+     * @return true if neither capacity nor load would be exceeded
+     */
+    public boolean canFit(Person person) {
+        return fleet.peopleInside[slot] < capacity && person.getWeight() <= maxLoad - fleet.loads[slot];
+    }
+
+    /**
+     * Checks whether elevator is full
+     *
+     * @return true if person of average weight would not fit
+     */
+    public boolean isFull() {
+        return fleet.peopleInside[slot] >= capacity || Person.AVERAGE_WEIGHT > maxLoad - fleet.loads[slot];
+    }
+
+    /**
+     * Checks whether elevator could not take everyone waiting for it on the floor it reached in the last move
+     *
+     * @return true if someone was left behind because elevator was full
+     */
+    public boolean hasLeftPeopleBehind() {
+        return fleet.leftPeopleBehind[slot];
     }
 
     /**
      * Removes people from the floor
      *
      * @param floor on which people want to leave
+     * @param now   time when people leave
      */
-    private void removePeople(int floor) {
-        if (people.containsKey(floor)) {
-            peopleInside -= people.get(floor).size();
-            people.get(floor).clear();
+    private void removePeople(int floor, long now) {
+        if (floor < people.size()) {
+            List<Person> leaving = people.get(floor);
+            fleet.peopleInside[slot] -= leaving.size();
+            peopleDelivered += leaving.size();
+            for (int i = 0; i < leaving.size(); i++) {
+                Person person = leaving.get(i);
+                fleet.loads[slot] -= person.getWeight();
+                if (passengerListener != null)
+                    passengerListener.personLeft(this, person, now);
+                pool.release(person);
+            }
+            leaving.clear();
         }
     }
 
+    /**
+     * Getter of people inside
+     *
+     * @return how many people are in the elevator
+     */
+    public int getPeopleInside() {
+        return fleet.peopleInside[slot];
+    }
+
+    /**
+     * Getter of people going to the floor
+     *
+     * @param floor desired floor of people
+     * @return read-only list of people inside who want to leave on the floor
+     */
+    public List<Person> getPeopleGoingTo(int floor) {
+        if (floor >= people.size())
+            return Collections.emptyList();
+        return Collections.unmodifiableList(people.get(floor));
+    }
+
+    /**
+     * Getter of the highest floor of people inside
+     *
+     * @return floor above the highest floor on which people inside could want to leave
+     * @see #getPeopleGoingTo(int)
+     */
+    public int getFloorsOfPeople() {
+        return people.size();
+    }
+
+    /**
+     * Getter of people delivered
+     *
+     * @return how many people left the elevator on their desired floor
+     */
+    public long getPeopleDelivered() {
+        return peopleDelivered;
+    }
+
+    /**
+     * Getter of floors travelled
+     *
+     * @return how many floors the elevator passed since it was made
+     */
+    public long getFloorsTravelled() {
+        return fleet.travelled[slot];
+    }
+
     /**
      * Getter of direction
      *
      * @return direction of the elevator
      */
     public Direction getDirection() {
-        return direction;
+        return fleet.getDirection(slot);
+    }
+
+    /**
+     * Setter of direction
+     *
+     * @param direction new direction of the elevator
+     */
+    private void setDirection(Direction direction) {
+        fleet.directions[slot] = (byte) direction.ordinal();
     }
 
     /**
      * Moves elevator by one step, elevator picks people from this floor,
      * and leave people if they want to leave
      *
-     * @param peopleWaiting list of people waiting to be served
+     * @param peopleWaiting lists of people waiting to be served on positions of their floors
+     * @param now           time when elevator reaches the next floor
      */
-    public void moveByOne(Map<Integer, List<Person>> peopleWaiting) {
+    public void moveByOne(List<List<Person>> peopleWaiting, long now) {
+        fleet.leftPeopleBehind[slot] = false;
+
         //if elevator is not active - do nothing
-        if (direction == Direction.STAY)
+        byte direction = fleet.directions[slot];
+        if (direction == Fleet.STAY)
             return;
 
         //if elevator is heading up - go up by one, else go down by one
-        if (direction == Direction.UP)
-            currentFloor++;
-        else
-            currentFloor--;
+        int currentFloor = direction == Fleet.UP ? ++fleet.floors[slot] : --fleet.floors[slot];
+        fleet.travelled[slot]++;
+        if (currentFloor == parkingFloor)
+            parkingFloor = -1;
 
-        //if current floor is on the list of destinations and there are people waiting here, pick them
-        if (!destinations.isEmpty() && currentFloor.equals(destinations.get(0)) && peopleWaiting.containsKey(currentFloor)) { //destinations.contains(currentFloor)
-            //handle single person at once
-            for (Person person : peopleWaiting.get(currentFloor)) {
-                addPerson(person);
-                destinations.remove(currentFloor);
-                addDestination(person.getDesiredFloor(), Direction.STAY);
+        //if someone wants to leave on this floor, go ahead and leave first, so there is more room for people waiting here
+        if (currentFloor < people.size() && !people.get(currentFloor).isEmpty()) {
+            removePeople(currentFloor, now);
+            destinations.removeFloor(currentFloor);
+            //if this is not first floor in destination list but elevator stops here to let people out, check if there is someone to be picked
+            if(currentFloor < peopleWaiting.size()) {
+                pickPeople(peopleWaiting.get(currentFloor), false, now);
             }
-            peopleWaiting.get(currentFloor).clear();
         }
 
-        //if someone wants to leave on this floor, go ahead and leave
-        if (people.get(currentFloor) != null && !people.get(currentFloor).isEmpty()) {
-            removePeople(currentFloor);
-            destinations.remove(currentFloor);
-            //if this is not first floor in destination list but elevator stops here to let people out, check if there is someone to be picked
-            if(peopleWaiting.get(currentFloor) != null) {
-                for (Person person : peopleWaiting.get(currentFloor)) {
-                    addPerson(person);
-                    addDestination(person.getDesiredFloor(), Direction.STAY);
-                }
-                peopleWaiting.get(currentFloor).clear();
-            }
+        //if current floor is on the list of destinations and there are people waiting here, pick them
+        if (!destinations.isEmpty() && currentFloor == destinations.first() && currentFloor < peopleWaiting.size()) { //destinations.contains(currentFloor)
+            pickPeople(peopleWaiting.get(currentFloor), true, now);
         }
 
-        //prevents elevators from going crazy - if elevator reached destination but there is no one to be picked, remove this destination
-        if (!destinations.isEmpty() && destinations.get(0).equals(currentFloor) && peopleWaiting.get(currentFloor).isEmpty()) {
-            destinations.remove(0);
+        //prevents elevators from going crazy - if elevator reached destination but no one got in, remove this destination
+        //people who did not fit are sent another elevator by the system
+        if (!destinations.isEmpty() && destinations.first() == currentFloor) {
+            destinations.removeFirst();
         }
 
         //if there is no more floors to be visit - stay and do nothing
         if (destinations.isEmpty()) {
-            direction = Direction.STAY;
+            fleet.directions[slot] = Fleet.STAY;
+            refreshStop();
             return;
         }
 
         //set direction to next destination
-        direction = destinations.get(0) - currentFloor > 0 ? Direction.UP : Direction.DOWN;
+        setDirection(destinations.first() - currentFloor > 0 ? Direction.UP : Direction.DOWN);
+        refreshStop();
+    }
+
+    /**
+     * Counts ticks until elevator reaches its next stop, on floors before it nothing happens
+     *
+     * @return number of floors to the first destination or to the nearer floor where someone inside gets out,
+     * 0 if elevator is not moving
+     */
+    public int countFloorsToNextStop() {
+        return fleet.countFloorsToNextStop(slot);
+    }
+
+    /**
+     * Moves elevator by many floors at once without stopping, the same as calling moveByOne so many times
+     * when there is no stop on the way
+     *
+     * @param floors how many floors elevator passes, less than floors to the next stop
+     * @throws IllegalArgumentException if elevator would reach its next stop
+     * @see #countFloorsToNextStop()
+     */
+    public void travel(int floors) {
+        fleet.travel(slot, floors);
+    }
+
+    /**
+     * Finds the next stop of the elevator and keeps it in the fleet, called after every change of the queue,
+     * people inside or direction
+     */
+    private void refreshStop() {
+        int currentFloor = fleet.floors[slot];
+        byte direction = fleet.directions[slot];
+        if (direction == Fleet.STAY || destinations.isEmpty()) {
+            fleet.stops[slot] = currentFloor;
+            return;
+        }
+        int step = direction == Fleet.UP ? 1 : -1;
+        int distance = (destinations.first() - currentFloor) * step;
+        //first destination is not ahead, so elevator does more than passing the next floor
+        if (distance <= 0) {
+            fleet.stops[slot] = currentFloor + step;
+            return;
+        }
+        //person can want a floor which is in a later sweep, then person gets out while elevator passes it
+        for (int floors = 1; floors < distance; floors++) {
+            int floor = currentFloor + floors * step;
+            if (floor >= 0 && floor < people.size() && !people.get(floor).isEmpty()) {
+                fleet.stops[slot] = floor;
+                return;
+            }
+        }
+        fleet.stops[slot] = destinations.first();
+    }
+
+    /**
+     * Picks people waiting on the current floor who can take this elevator, fit in it and want to go to a floor
+     * served by it, the rest keeps waiting
+     *
+     * @param waiting     people waiting on the current floor
+     * @param reachedStop whether current floor is the first destination, which should be removed once someone is picked
+     * @param now         time when people get in
+     */
+    private void pickPeople(List<Person> waiting, boolean reachedStop, long now) {
+        int left = 0; //how many people keep waiting, they are moved to the beginning of the list
+        //handle single person at once
+        for (int i = 0; i < waiting.size(); i++) {
+            Person person = waiting.get(i);
+            if (!person.canTake(this) || !serves(person.getDesiredFloor())) {
+                waiting.set(left++, person);
+                continue;
+            }
+            if (!canFit(person)) {
+                fleet.leftPeopleBehind[slot] = true;
+                waiting.set(left++, person);
+                continue;
+            }
+            addPerson(person, now);
+            if (reachedStop)
+                destinations.removeFloor(fleet.floors[slot]);
+            addDestination(person.getDesiredFloor(), Direction.STAY);
+        }
+        //removing from the end does not create a view of the list like subList
+        for (int i = waiting.size() - 1; i >= left; i--)
+            waiting.remove(i);
     }
 
     /**
@@ -248,6 +602,6 @@ public class Elevator {
      */
     @Override
     public String toString() {
-        return "ID: " + ID + ", current floor: " + currentFloor + ", destinations: " + destinations + ", people inside: " + peopleInside;
+        return "ID: " + ID + ", current floor: " + fleet.floors[slot] + ", destinations: " + destinations + ", people inside: " + fleet.peopleInside[slot];
     }
 }
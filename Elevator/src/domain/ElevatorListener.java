@@ -0,0 +1,22 @@
+package domain;
+
+/**
+ * This is an interface of objects which want to know about changes in queues of elevators
+ */
+public interface ElevatorListener {
+    /**
+     * Called after floor was added to the queue of destinations
+     *
+     * @param elevator which got new destination
+     * @param floor    added to the queue
+     */
+    void destinationAdded(Elevator elevator, int floor);
+
+    /**
+     * Called after floor was removed from the queue of destinations
+     *
+     * @param elevator which lost destination
+     * @param floor    removed from the queue
+     */
+    void destinationRemoved(Elevator elevator, int floor);
+}
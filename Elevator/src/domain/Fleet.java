@@ -0,0 +1,233 @@
+package domain;
+
+import enums.Direction;
+
+import java.util.Arrays;
+
+/**
+ * This is a class which keeps state of many elevators in parallel arrays of primitives, one position for every elevator
+ *
+ * Floors, directions, next stops, people inside and loads of all elevators lie next to each other,
+ * so a tick can go through thousands of elevators reading only these arrays. Elevator standing still or
+ * only passing a floor is handled without touching its object, its queue or people inside;
+ * only elevators reaching a stop are moved by their objects.
+ * Every elevator is a view of its position in a fleet, new elevator has a fleet of its own
+ * and is moved to the fleet of the system when it is added there.
+ */
+public class Fleet {
+    static final byte UP = (byte) Direction.UP.ordinal(); //direction of elevators going up
+    static final byte DOWN = (byte) Direction.DOWN.ordinal(); //direction of elevators going down
+    static final byte STAY = (byte) Direction.STAY.ordinal(); //direction of elevators standing still
+    private static final Direction[] DIRECTIONS = Direction.values(); //directions by their ordinals
+
+    int[] floors; //current floor of every elevator
+    byte[] directions; //ordinal of direction of every elevator
+    int[] stops; //floor of the next stop of every moving elevator, where someone gets out or its first destination is
+    int[] peopleInside; //how many people are in every elevator
+    int[] loads; //weight of people inside every elevator in kilograms
+    boolean[] leftPeopleBehind; //whether elevator could not take everyone waiting for it on the last floor
+    long[] travelled; //how many floors every elevator passed since it was made
+    private Elevator[] elevators; //elevators on their positions
+    private int size; //number of elevators in the fleet
+
+    /**
+     * Fleet constructor initializes variables
+     *
+     * @param capacity how many elevators fit before arrays grow
+     */
+    public Fleet(int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("Capacity must be at least 1");
+
+        floors = new int[capacity];
+        directions = new byte[capacity];
+        stops = new int[capacity];
+        peopleInside = new int[capacity];
+        loads = new int[capacity];
+        leftPeopleBehind = new boolean[capacity];
+        travelled = new long[capacity];
+        elevators = new Elevator[capacity];
+    }
+
+    /**
+     * Adds new elevator standing still and empty at the end of the fleet
+     *
+     * @param elevator to be added
+     * @param floor    where elevator stands
+     * @return position of the elevator in the fleet
+     */
+    int create(Elevator elevator, int floor) {
+        grow();
+        floors[size] = floor;
+        directions[size] = STAY;
+        stops[size] = floor;
+        elevators[size] = elevator;
+        return size++;
+    }
+
+    /**
+     * Moves elevator with its state to the end of the fleet, elevator reads its state from this fleet from now on
+     *
+     * @param elevator to be added, it is taken from its previous fleet
+     * @return position of the elevator in the fleet
+     */
+    public int add(Elevator elevator) {
+        grow();
+        Fleet previous = elevator.getFleet();
+        int from = elevator.getSlot();
+        floors[size] = previous.floors[from];
+        directions[size] = previous.directions[from];
+        stops[size] = previous.stops[from];
+        peopleInside[size] = previous.peopleInside[from];
+        loads[size] = previous.loads[from];
+        leftPeopleBehind[size] = previous.leftPeopleBehind[from];
+        travelled[size] = previous.travelled[from];
+        elevators[size] = elevator;
+        elevator.moveTo(this, size);
+        return size++;
+    }
+
+    /**
+     * Moves elevator by one floor if it only passes the floor, the same as moveByOne of the elevator then
+     *
+     * @param slot position of the elevator
+     * @return true if elevator was moved or it stands still, false if it reaches a stop and has to be moved by its object
+     * @see Elevator#moveByOne(java.util.List, long)
+     */
+    public boolean pass(int slot) {
+        leftPeopleBehind[slot] = false;
+        byte direction = directions[slot];
+        if (direction == STAY)
+            return true;
+        int next = direction == UP ? floors[slot] + 1 : floors[slot] - 1;
+        if (next == stops[slot])
+            return false;
+        floors[slot] = next;
+        travelled[slot]++;
+        return true;
+    }
+
+    /**
+     * Moves elevator by many floors at once without stopping, the same as moveByOne of the elevator so many times
+     *
+     * @param slot   position of the elevator
+     * @param floors how many floors elevator passes, less than floors to its next stop
+     * @throws IllegalArgumentException if elevator would reach its next stop
+     * @see #countFloorsToNextStop(int)
+     */
+    public void travel(int slot, int floors) {
+        if (floors < 0 || floors > 0 && floors >= countFloorsToNextStop(slot))
+            throw new IllegalArgumentException("Elevator " + elevators[slot].getID() + " can not pass " + floors + " floors without stopping");
+
+        leftPeopleBehind[slot] = false;
+        this.floors[slot] += directions[slot] == UP ? floors : -floors;
+        travelled[slot] += floors;
+    }
+
+    /**
+     * Counts floors which elevator passes before its next stop
+     *
+     * @param slot position of the elevator
+     * @return number of floors to the next stop, 0 if elevator is not moving
+     */
+    public int countFloorsToNextStop(int slot) {
+        return directions[slot] == STAY ? 0 : Math.abs(stops[slot] - floors[slot]);
+    }
+
+    /**
+     * Getter of elevator
+     *
+     * @param slot position of the elevator
+     * @return elevator on the position
+     */
+    public Elevator get(int slot) {
+        return elevators[slot];
+    }
+
+    /**
+     * Getter of floor
+     *
+     * @param slot position of the elevator
+     * @return current floor of the elevator
+     */
+    public int getFloor(int slot) {
+        return floors[slot];
+    }
+
+    /**
+     * Getter of direction
+     *
+     * @param slot position of the elevator
+     * @return direction of the elevator
+     */
+    public Direction getDirection(int slot) {
+        return DIRECTIONS[directions[slot]];
+    }
+
+    /**
+     * Checks whether elevator moves
+     *
+     * @param slot position of the elevator
+     * @return true if direction of the elevator is not STAY
+     */
+    public boolean isMoving(int slot) {
+        return directions[slot] != STAY;
+    }
+
+    /**
+     * Getter of people inside
+     *
+     * @param slot position of the elevator
+     * @return how many people are in the elevator
+     */
+    public int getPeopleInside(int slot) {
+        return peopleInside[slot];
+    }
+
+    /**
+     * Checks whether elevator could not take everyone waiting for it on the floor it reached in the last move
+     *
+     * @param slot position of the elevator
+     * @return true if someone was left behind because elevator was full
+     */
+    public boolean hasLeftPeopleBehind(int slot) {
+        return leftPeopleBehind[slot];
+    }
+
+    /**
+     * Getter of floors travelled
+     *
+     * @param slot position of the elevator
+     * @return how many floors the elevator passed since it was made, ex. as a measure of used energy
+     */
+    public long getFloorsTravelled(int slot) {
+        return travelled[slot];
+    }
+
+    /**
+     * Counts elevators
+     *
+     * @return number of elevators in the fleet
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Makes arrays twice as long if there is no room for the next elevator
+     */
+    private void grow() {
+        if (size < floors.length)
+            return;
+
+        int capacity = size * 2;
+        floors = Arrays.copyOf(floors, capacity);
+        directions = Arrays.copyOf(directions, capacity);
+        stops = Arrays.copyOf(stops, capacity);
+        peopleInside = Arrays.copyOf(peopleInside, capacity);
+        loads = Arrays.copyOf(loads, capacity);
+        leftPeopleBehind = Arrays.copyOf(leftPeopleBehind, capacity);
+        travelled = Arrays.copyOf(travelled, capacity);
+        elevators = Arrays.copyOf(elevators, capacity);
+    }
+}
@@ -0,0 +1,27 @@
+package domain;
+
+/**
+ * This is an interface which is told when people get in and out of elevators
+ *
+ * Elevators moved by many threads at once tell it from these threads,
+ * but people getting in or out on the same floor are always told from the same thread.
+ * Person who left is used again for new calls, so it must not be kept after the call.
+ */
+public interface PassengerListener {
+    /**
+     * Is called when person got in the elevator, time of boarding is already set
+     *
+     * @param elevator which person got in, it is on the floor where person waited
+     * @param person   who got in
+     */
+    void personBoarded(Elevator elevator, Person person);
+
+    /**
+     * Is called when person left the elevator on the desired floor
+     *
+     * @param elevator which person left, it is on the desired floor of the person
+     * @param person   who left
+     * @param now      time when person left
+     */
+    void personLeft(Elevator elevator, Person person, long now);
+}
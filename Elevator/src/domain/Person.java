@@ -4,7 +4,13 @@ package domain;
  * This is a class which represent a person waiting to be served
  */
 public class Person {
-    private Integer desiredFloor; //represents the floor on which a person want's to go
+    public static final int AVERAGE_WEIGHT = 75; //weight in kilograms of a person whose weight is not known
+
+    private int desiredFloor; //represents the floor on which a person want's to go
+    private int weight; //weight of the person in kilograms
+    private Elevator assigned; //elevator which person was told to take, null if person takes any elevator
+    private long calledAt; //time when person called an elevator
+    private long boardedAt; //time when person got in an elevator
 
     /**
      * Person constructor
@@ -12,7 +18,36 @@ public class Person {
      * @param desiredFloor floor on which a person want's to go
      */
     public Person(int desiredFloor) {
+        this(desiredFloor, AVERAGE_WEIGHT);
+    }
+
+    /**
+     * Person constructor
+     *
+     * @param desiredFloor floor on which a person want's to go
+     * @param weight       weight of the person in kilograms
+     */
+    public Person(int desiredFloor, int weight) {
+        if (weight < 0)
+            throw new IllegalArgumentException("Weight must not be negative: " + weight);
+
+        this.desiredFloor = desiredFloor;
+        this.weight = weight;
+    }
+
+    /**
+     * Prepares person to be used again for a new call
+     *
+     * @param desiredFloor floor on which a person want's to go
+     * @param weight       weight of the person in kilograms
+     * @see PersonPool
+     */
+    void reset(int desiredFloor, int weight) {
         this.desiredFloor = desiredFloor;
+        this.weight = weight;
+        assigned = null;
+        calledAt = 0;
+        boardedAt = 0;
     }
 
     /**
@@ -23,4 +58,86 @@ public class Person {
     public int getDesiredFloor() {
         return desiredFloor;
     }
+
+    /**
+     * Getter of weight
+     *
+     * @return weight of the person in kilograms
+     */
+    public int getWeight() {
+        return weight;
+    }
+
+    /**
+     * Getter of assigned elevator
+     *
+     * @return elevator which person was told to take, null if person takes any elevator
+     */
+    public Elevator getAssigned() {
+        return assigned;
+    }
+
+    /**
+     * Setter of assigned elevator
+     *
+     * @param assigned elevator which person was told to take, null if person takes any elevator
+     */
+    public void setAssigned(Elevator assigned) {
+        this.assigned = assigned;
+    }
+
+    /**
+     * Getter of time of the call
+     *
+     * @return time when person called an elevator
+     */
+    public long getCalledAt() {
+        return calledAt;
+    }
+
+    /**
+     * Setter of time of the call
+     *
+     * @param calledAt time when person called an elevator
+     */
+    public void setCalledAt(long calledAt) {
+        this.calledAt = calledAt;
+    }
+
+    /**
+     * Getter of time of boarding
+     *
+     * @return time when person got in an elevator
+     */
+    public long getBoardedAt() {
+        return boardedAt;
+    }
+
+    /**
+     * Setter of time of boarding
+     *
+     * @param boardedAt time when person got in an elevator
+     */
+    void setBoardedAt(long boardedAt) {
+        this.boardedAt = boardedAt;
+    }
+
+    /**
+     * Getter of wait time
+     *
+     * @return how long person waited for an elevator
+     */
+    public long getWaitTime() {
+        return boardedAt - calledAt;
+    }
+
+    /**
+     * Checks whether person can take given elevator
+     *
+     * @param elevator which stopped on the floor of the person
+     * @return true if person was told to take this elevator or can take any elevator
+     */
+    public boolean canTake(Elevator elevator) {
+        return assigned == null || assigned == elevator;
+    }
 }
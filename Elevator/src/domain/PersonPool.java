@@ -0,0 +1,76 @@
+package domain;
+
+import java.util.Arrays;
+
+/**
+ * This is a class which keeps people who left elevators, so they can be used again for new calls
+ *
+ * Once enough people were created, taking and releasing them allocates nothing.
+ * Pool is not safe for many threads, so every elevator releases people to its own pool,
+ * and the system moves them to the pool it takes people from when elevators stopped moving.
+ */
+public class PersonPool {
+    private Person[] free; //people ready to be used again
+    private int size; //how many people are ready
+
+    /**
+     * PersonPool constructor initializes variables
+     */
+    public PersonPool() {
+        free = new Person[4];
+    }
+
+    /**
+     * Gives person who wants to go to given floor, person is used again if there is one ready
+     *
+     * @param desiredFloor floor on which a person want's to go
+     * @param weight       weight of the person in kilograms
+     * @return person not assigned to any elevator
+     * @throws IllegalArgumentException if weight is negative
+     */
+    public Person take(int desiredFloor, int weight) {
+        if (size == 0)
+            return new Person(desiredFloor, weight);
+        if (weight < 0)
+            throw new IllegalArgumentException("Weight must not be negative: " + weight);
+
+        Person person = free[--size];
+        free[size] = null;
+        person.reset(desiredFloor, weight);
+        return person;
+    }
+
+    /**
+     * Puts person back to the pool, nobody can use the person after
+     *
+     * @param person who left the elevator
+     */
+    void release(Person person) {
+        if (size == free.length)
+            free = Arrays.copyOf(free, size * 2);
+        free[size++] = person;
+    }
+
+    /**
+     * Moves all people from other pool to this one
+     *
+     * @param other pool to be emptied
+     */
+    public void refill(PersonPool other) {
+        if (size + other.size > free.length)
+            free = Arrays.copyOf(free, Math.max(size + other.size, free.length * 2));
+        System.arraycopy(other.free, 0, free, size, other.size);
+        Arrays.fill(other.free, 0, other.size, null);
+        size += other.size;
+        other.size = 0;
+    }
+
+    /**
+     * Getter of size
+     *
+     * @return how many people are ready to be used again
+     */
+    public int size() {
+        return size;
+    }
+}
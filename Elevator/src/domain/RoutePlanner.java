@@ -0,0 +1,77 @@
+package domain;
+
+import enums.Direction;
+
+import java.util.BitSet;
+
+/**
+ * This is a class which plans order of stops of an elevator like LOOK algorithm
+ *
+ * Every stop is visited either while going up or while going down: floors where UP was pressed are visited going up,
+ * floors where DOWN was pressed are visited going down, and floors chosen inside are visited on the way to them.
+ * Route has at most three sweeps: stops ahead in the current direction, then all stops of the opposite direction,
+ * then stops of the current direction which are already behind, so elevator never goes back and forth between stops.
+ * Place of a new stop is counted from bitsets of both directions, other stops are neither moved nor checked one by one.
+ */
+final class RoutePlanner {
+    private RoutePlanner() {
+    }
+
+    /**
+     * Tells in which direction new stop is visited
+     *
+     * @param floor        new stop
+     * @param call         direction pressed on the floor, STAY if floor was chosen inside
+     * @param currentFloor current floor of the elevator
+     * @param direction    direction of the elevator, UP or DOWN
+     * @return true if stop is visited while going down
+     */
+    static boolean goesDown(int floor, Direction call, int currentFloor, Direction direction) {
+        if (call != Direction.STAY)
+            return call == Direction.DOWN;
+        return floor == currentFloor ? direction == Direction.DOWN : floor < currentFloor;
+    }
+
+    /**
+     * Finds place of new stop in the route
+     *
+     * @param destinations route of the elevator, new stop is not in it yet
+     * @param floor        new stop
+     * @param down         whether stop is visited while going down
+     * @param currentFloor current floor of the elevator
+     * @param direction    direction of the elevator, UP or DOWN
+     * @return position in the queue where stop should be added
+     */
+    static int place(Destinations destinations, int floor, boolean down, int currentFloor, Direction direction) {
+        if (direction == Direction.UP) {
+            //first sweep: stops above going up, second: all stops going down, third: stops below going up
+            if (!down && floor > currentFloor)
+                return destinations.count(currentFloor + 1, floor, false);
+            int firstSweep = destinations.count(currentFloor + 1, Integer.MAX_VALUE, false);
+            if (down)
+                return firstSweep + destinations.count(floor + 1, Integer.MAX_VALUE, true);
+            return firstSweep + destinations.count(0, Integer.MAX_VALUE, true) + destinations.count(0, floor, false);
+        }
+
+        //first sweep: stops below going down, second: all stops going up, third: stops above going down
+        if (down && floor < currentFloor)
+            return destinations.count(floor + 1, currentFloor, true);
+        int firstSweep = destinations.count(0, currentFloor, true);
+        if (!down)
+            return firstSweep + destinations.count(0, floor, false);
+        return firstSweep + destinations.count(0, Integer.MAX_VALUE, false) + destinations.count(floor + 1, Integer.MAX_VALUE, true);
+    }
+
+    /**
+     * Tells in which direction every stop of a restored route is visited
+     *
+     * @param destinations restored route
+     * @param goingDown    stops visited while going down
+     */
+    static void restore(Destinations destinations, BitSet goingDown) {
+        for (int i = 0; i < destinations.size(); i++) {
+            int floor = destinations.get(i);
+            destinations.setGoingDown(floor, goingDown.get(floor));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package enums;
+
+/**
+ * This is an enum representing typical traffic of an office building during the day
+ *
+ * Every kind of traffic tells which part of people come from lobbies (incoming),
+ * go to lobbies (outgoing) and travel between any two floors (inter-floor).
+ */
+public enum Traffic {
+    UP_PEAK(0.85, 0.05, 0.10), //morning, people come to work
+    LUNCH(0.40, 0.40, 0.20), //people go out for lunch and come back
+    DOWN_PEAK(0.05, 0.85, 0.10), //evening, people go home
+    INTERFLOOR(0, 0, 1); //people travel between any floors
+
+    private final double incoming; //part of people going from lobbies to other floors
+    private final double outgoing; //part of people going from other floors to lobbies
+    private final double interfloor; //part of people going between any two floors
+
+    /**
+     * Traffic constructor initializes variables
+     *
+     * @param incoming   part of people going from lobbies to other floors
+     * @param outgoing   part of people going from other floors to lobbies
+     * @param interfloor part of people going between any two floors
+     */
+    Traffic(double incoming, double outgoing, double interfloor) {
+        this.incoming = incoming;
+        this.outgoing = outgoing;
+        this.interfloor = interfloor;
+    }
+
+    /**
+     * Getter of incoming
+     *
+     * @return part of people going from lobbies to other floors
+     */
+    public double getIncoming() {
+        return incoming;
+    }
+
+    /**
+     * Getter of outgoing
+     *
+     * @return part of people going from other floors to lobbies
+     */
+    public double getOutgoing() {
+        return outgoing;
+    }
+
+    /**
+     * Getter of interfloor
+     *
+     * @return part of people going between any two floors
+     */
+    public double getInterfloor() {
+        return interfloor;
+    }
+}
@@ -0,0 +1,349 @@
+package system;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This is a class which runs many buildings at once, every building has its own independent system
+ *
+ * Buildings are split into shards, every shard has one dedicated thread which is the only thread
+ * ever touching systems of its buildings, so shards share no state and need no locks.
+ * Calls are routed by ID of the building to its intake, and can be made from any thread.
+ * More shards tick more buildings at once, up to the number of cores.
+ * Busy building slows down only buildings of its own shard, and even there one tick takes at most
+ * a limited number of calls from its intake, the rest waits for the next ticks.
+ * Very busy building can be given a shard of its own.
+ * Exception thrown by a tick of a building is caught and counted for that building,
+ * so it does not cancel next ticks of the shard and other buildings of the shard are ticked as usual.
+ */
+public class BuildingHost {
+    private static final int BATCH = 4096; //the biggest number of calls taken from the intake of one building on one tick
+    private static final int STRIPES = 4; //ring buffers of the intake of every building
+    private static final int CAPACITY = 1 << 14; //calls fitting in one ring buffer of the intake
+    private static final long HIGHEST_MICROS = 10_000_000; //the highest tick time counted exactly
+
+    private Shard[] shards; //groups of buildings, every one with its own thread
+    private Map<Integer, Hosted> buildings; //every building by its ID
+    private boolean started; //whether buildings are ticked at a fixed rate
+
+    /**
+     * BuildingHost constructor initializes variables and starts thread of every shard
+     *
+     * @param shards how many shards should be used, ex. number of cores
+     */
+    public BuildingHost(int shards) {
+        if (shards < 1)
+            throw new IllegalArgumentException("Number of shards must be at least 1");
+
+        this.shards = new Shard[shards];
+        for (int i = 0; i < shards; i++)
+            this.shards[i] = new Shard(i);
+        buildings = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Adds building to the shard with the fewest elevators
+     *
+     * @param buildingID unique number of the building
+     * @param system     of the building, no other thread can change it after adding
+     * @return shard to which building was added
+     */
+    public synchronized int addBuilding(int buildingID, ElevatorSystem system) {
+        int lightest = 0;
+        for (int i = 1; i < shards.length; i++) {
+            if (shards[i].elevators < shards[lightest].elevators)
+                lightest = i;
+        }
+        addBuilding(buildingID, system, lightest);
+        return lightest;
+    }
+
+    /**
+     * Adds building to given shard
+     *
+     * @param buildingID unique number of the building
+     * @param system     of the building, no other thread can change it after adding
+     * @param shard      number of the shard, from 0
+     */
+    public synchronized void addBuilding(int buildingID, ElevatorSystem system, int shard) {
+        if (shard < 0 || shard >= shards.length)
+            throw new IllegalArgumentException("There is no shard " + shard);
+        if (buildings.containsKey(buildingID))
+            throw new IllegalArgumentException("Building " + buildingID + " was already added");
+
+        Hosted hosted = new Hosted(system, shard);
+        shards[shard].elevators += system.countElevators();
+        //list of buildings is changed by the thread of the shard, so it is never changed in the middle of a tick
+        await(shards[shard].executor.submit(() -> shards[shard].buildings.add(hosted)));
+        buildings.put(buildingID, hosted);
+    }
+
+    /**
+     * Adds new call to the building, can be called from any thread
+     *
+     * @param buildingID unique number of the building
+     * @param floor      represents floor where person is waiting
+     * @param direction  represents how many floors person wants to go
+     * @return true if call was accepted, false if intake of the building is full and call should be retried later
+     * @see CallIntake#offer(int, int)
+     */
+    public boolean call(int buildingID, int floor, int direction) {
+        return building(buildingID).intake.offer(floor, direction);
+    }
+
+    /**
+     * Starts ticking all buildings at a fixed rate
+     *
+     * @param periodMillis time between ticks in milliseconds
+     */
+    public synchronized void start(long periodMillis) {
+        if (periodMillis < 1)
+            throw new IllegalArgumentException("Period must be at least 1 ms");
+        if (started)
+            throw new IllegalStateException("Host was already started");
+
+        started = true;
+        for (Shard shard : shards)
+            shard.executor.scheduleAtFixedRate(shard::tick, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Ticks all buildings given number of times as fast as possible, every shard on its own thread
+     *
+     * @param ticks how many times every building is ticked
+     */
+    public synchronized void run(long ticks) {
+        if (started)
+            throw new IllegalStateException("Host is ticked at a fixed rate");
+
+        List<Future<?>> done = new ArrayList<>();
+        for (Shard shard : shards) {
+            done.add(shard.executor.submit(() -> {
+                for (long i = 0; i < ticks; i++)
+                    shard.tick();
+            }));
+        }
+        for (Future<?> future : done)
+            await(future);
+    }
+
+    /**
+     * Stops threads of all shards, buildings are not ticked any more
+     *
+     * @throws InterruptedException  if waiting for the last ticks is interrupted
+     * @throws IllegalStateException if the last ticks of some shard did not end, so its systems can still be changed
+     */
+    public void stop() throws InterruptedException {
+        for (Shard shard : shards)
+            shard.executor.shutdown();
+        for (Shard shard : shards) {
+            if (!shard.executor.awaitTermination(1, TimeUnit.SECONDS)) {
+                //ticks running too long are interrupted, and given one more chance to end
+                shard.executor.shutdownNow();
+                if (!shard.executor.awaitTermination(1, TimeUnit.SECONDS))
+                    throw new IllegalStateException("Shard " + shard.number + " did not stop");
+            }
+        }
+    }
+
+    /**
+     * Getter of shard
+     *
+     * @param buildingID unique number of the building
+     * @return number of the shard of the building
+     */
+    public int getShard(int buildingID) {
+        return building(buildingID).shard;
+    }
+
+    /**
+     * Getter of system, it can be read safely only when host is not ticking
+     *
+     * @param buildingID unique number of the building
+     * @return system of the building
+     */
+    public ElevatorSystem getSystem(int buildingID) {
+        return building(buildingID).system;
+    }
+
+    /**
+     * Getter of tick times, can be called from any thread
+     *
+     * @param buildingID unique number of the building
+     * @return copy of how many microseconds ticks of the building took, with calls taken from the intake
+     */
+    public Histogram getTickTimes(int buildingID) {
+        Hosted hosted = building(buildingID);
+        return copy(shards[hosted.shard], hosted.tickTimes);
+    }
+
+    /**
+     * Getter of failed ticks, can be called from any thread
+     *
+     * @param buildingID unique number of the building
+     * @return how many ticks of the building threw an exception
+     */
+    public long getFailedTicks(int buildingID) {
+        return building(buildingID).failedTicks.get();
+    }
+
+    /**
+     * Getter of last failure, can be called from any thread
+     *
+     * @param buildingID unique number of the building
+     * @return exception thrown by the last failed tick of the building, null if no tick failed
+     */
+    public RuntimeException getLastFailure(int buildingID) {
+        return building(buildingID).lastFailure;
+    }
+
+    /**
+     * Getter of tick times of the whole shard, can be called from any thread
+     *
+     * @param shard number of the shard, from 0
+     * @return copy of how many microseconds ticks of all buildings of the shard took
+     */
+    public Histogram getShardTickTimes(int shard) {
+        if (shard < 0 || shard >= shards.length)
+            throw new IllegalArgumentException("There is no shard " + shard);
+        return copy(shards[shard], shards[shard].tickTimes);
+    }
+
+    /**
+     * Counts shards
+     *
+     * @return number of shards
+     */
+    public int countShards() {
+        return shards.length;
+    }
+
+    /**
+     * Finds building by its ID
+     *
+     * @param buildingID unique number of the building
+     * @return hosted building
+     */
+    private Hosted building(int buildingID) {
+        Hosted hosted = buildings.get(buildingID);
+        if (hosted == null)
+            throw new IllegalArgumentException("There is no building " + buildingID);
+        return hosted;
+    }
+
+    /**
+     * Copies histogram written by the thread of the shard, so it is never read in the middle of a tick
+     *
+     * @param shard     whose thread writes the histogram
+     * @param tickTimes histogram to be copied
+     * @return copy of the histogram
+     */
+    private static Histogram copy(Shard shard, Histogram tickTimes) {
+        Histogram copy = new Histogram(HIGHEST_MICROS);
+        //after stop the thread of the shard is gone and nothing writes the histogram any more
+        if (shard.executor.isTerminated())
+            copy.add(tickTimes);
+        else
+            await(shard.executor.submit(() -> copy.add(tickTimes)));
+        return copy;
+    }
+
+    /**
+     * Waits until task of a shard is done
+     *
+     * @param future of the task
+     */
+    private static void await(Future<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a shard", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Shard failed", e.getCause());
+        }
+    }
+
+    /**
+     * This is a class which represent one building run by the host
+     */
+    private static class Hosted {
+        final ElevatorSystem system; //system of the building
+        final CallIntake intake; //calls waiting to be passed to the system
+        final int shard; //number of the shard of the building
+        final Histogram tickTimes; //how many microseconds ticks of the building took
+        final AtomicLong failedTicks; //how many ticks of the building threw an exception
+        volatile RuntimeException lastFailure; //exception thrown by the last failed tick, null if no tick failed
+
+        /**
+         * Hosted constructor initializes variables
+         *
+         * @param system of the building
+         * @param shard  number of the shard of the building
+         */
+        Hosted(ElevatorSystem system, int shard) {
+            this.system = system;
+            this.shard = shard;
+            intake = new CallIntake(STRIPES, CAPACITY);
+            tickTimes = new Histogram(HIGHEST_MICROS);
+            failedTicks = new AtomicLong();
+        }
+    }
+
+    /**
+     * This is a class which represent group of buildings ticked by one dedicated thread
+     */
+    private static class Shard {
+        final ScheduledExecutorService executor; //the only thread touching systems of the shard
+        final List<Hosted> buildings; //buildings of the shard, changed only by its thread
+        final int number; //number of the shard, from 0
+        final Histogram tickTimes; //how many microseconds ticks of the whole shard took
+        int elevators; //how many elevators buildings of the shard have, used to place new buildings
+
+        /**
+         * Shard constructor initializes variables and starts its thread
+         *
+         * @param number of the shard
+         */
+        Shard(int number) {
+            this.number = number;
+            executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "building-shard-" + number);
+                thread.setDaemon(true);
+                return thread;
+            });
+            buildings = new ArrayList<>();
+            tickTimes = new Histogram(HIGHEST_MICROS);
+        }
+
+        /**
+         * Takes waiting calls of every building and moves its elevators, called only by the thread of the shard
+         *
+         * Exception of one building is counted for it, and the rest of buildings is ticked as usual.
+         */
+        void tick() {
+            long start = System.nanoTime();
+            for (int i = 0; i < buildings.size(); i++) {
+                Hosted hosted = buildings.get(i);
+                long buildingStart = System.nanoTime();
+                try {
+                    hosted.intake.drainTo(hosted.system, BATCH);
+                    hosted.system.advance();
+                } catch (RuntimeException e) {
+                    hosted.failedTicks.incrementAndGet();
+                    hosted.lastFailure = e;
+                }
+                hosted.tickTimes.record((System.nanoTime() - buildingStart) / 1000);
+            }
+            tickTimes.record((System.nanoTime() - start) / 1000);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package system;
+
+/**
+ * This is an interface of clients connected to the controller, like call buttons or gateways
+ *
+ * @see RealTimeController#connect(CallClient)
+ */
+public interface CallClient {
+    /**
+     * Serves the client until it disconnects or its thread is interrupted
+     *
+     * @param intake which accepts calls of this client
+     * @throws InterruptedException if controller is stopped
+     */
+    void serve(CallIntake intake) throws InterruptedException;
+}
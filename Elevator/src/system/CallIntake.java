@@ -0,0 +1,166 @@
+package system;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This is a class which collects calls from many threads at once and passes them to the system in batches
+ *
+ * Calls are kept in stripes, every stripe is a bounded ring buffer without locks,
+ * and every thread puts its calls into a stripe chosen by its ID, so threads rarely fight over the same buffer.
+ * Any number of threads can offer calls, but only one thread (the one moving elevators) can drain them.
+ */
+public class CallIntake {
+    private Stripe[] stripes; //ring buffers of calls, their number is always a power of two
+    private int next; //stripe which is drained first next time, so no stripe waits forever
+    private long rejected; //how many calls were rejected by the system, used only by the draining thread
+
+    /**
+     * CallIntake constructor initializes variables
+     *
+     * @param stripes  how many ring buffers should be used, rounded up to a power of two
+     * @param capacity how many calls fit in one ring buffer, rounded up to a power of two
+     */
+    public CallIntake(int stripes, int capacity) {
+        if (stripes < 1 || capacity < 1)
+            throw new IllegalArgumentException("Number of stripes and capacity must be at least 1");
+
+        this.stripes = new Stripe[powerOfTwo(stripes)];
+        for (int i = 0; i < this.stripes.length; i++)
+            this.stripes[i] = new Stripe(powerOfTwo(capacity));
+    }
+
+    /**
+     * Adds new call, can be called from any thread
+     *
+     * @param floor     represents floor where person is waiting
+     * @param direction represents how many floors person wants to go
+     * @return true if call was accepted, false if buffer of this thread is full and call should be retried later
+     * @see ElevatorSystem#pickup(int, int)
+     */
+    public boolean offer(int floor, int direction) {
+        if (floor < 0 || direction == 0 || floor + direction < 0)
+            throw new IllegalArgumentException("Wrong call: floor " + floor + ", direction " + direction);
+
+        Stripe stripe = stripes[(int) Thread.currentThread().getId() & (stripes.length - 1)];
+        return stripe.offer(((long) floor << 32) | (direction & 0xFFFFFFFFL));
+    }
+
+    /**
+     * Passes waiting calls to the system, can be called only from the thread which moves elevators
+     *
+     * Calls which the system rejects, ex. to a floor which is not in the building, are skipped and counted,
+     * so one wrong call never stops the thread moving elevators.
+     *
+     * @param system which picks people up
+     * @param max    the biggest number of calls passed at once
+     * @return how many calls were passed, with rejected ones
+     */
+    public int drainTo(ElevatorSystem system, int max) {
+        int drained = 0;
+        for (int i = 0; i < stripes.length && drained < max; i++) {
+            Stripe stripe = stripes[(next + i) & (stripes.length - 1)];
+            long call;
+            while (drained < max && (call = stripe.poll()) != Stripe.EMPTY) {
+                drained++;
+                try {
+                    system.pickup((int) (call >> 32), (int) call);
+                } catch (IllegalArgumentException e) {
+                    rejected++;
+                }
+            }
+        }
+        next = (next + 1) & (stripes.length - 1);
+        return drained;
+    }
+
+    /**
+     * Getter of rejected, can be called only from the thread which moves elevators
+     *
+     * @return how many calls were rejected by the system
+     */
+    public long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * Rounds number up to a power of two
+     *
+     * @param number to be rounded
+     * @return the smallest power of two not smaller than number
+     */
+    static int powerOfTwo(int number) {
+        return number <= 1 ? 1 : Integer.highestOneBit(number - 1) << 1;
+    }
+
+    /**
+     * This is a class which represent bounded ring buffer with many producers and one consumer
+     *
+     * Every slot has a sequence number telling whether it is free for the producer or full for the consumer,
+     * so producers only fight for the tail with compare-and-set and the consumer never waits for them.
+     */
+    private static class Stripe {
+        static final long EMPTY = Long.MIN_VALUE; //returned by poll when there are no calls, no call is encoded like this
+
+        private final long[] calls; //encoded calls: floor in high bits, direction in low bits
+        private final AtomicLongArray sequences; //sequence number of every slot
+        private final AtomicLong tail; //position where next call will be put
+        private long head; //position of next call to be taken, used only by the consumer
+
+        /**
+         * Stripe constructor initializes variables
+         *
+         * @param capacity power of two, how many calls fit in the buffer
+         */
+        Stripe(int capacity) {
+            calls = new long[capacity];
+            sequences = new AtomicLongArray(capacity);
+            for (int i = 0; i < capacity; i++)
+                sequences.set(i, i);
+            tail = new AtomicLong();
+        }
+
+        /**
+         * Puts call into the buffer
+         *
+         * @param call encoded call
+         * @return true if call was put, false if buffer is full
+         */
+        boolean offer(long call) {
+            int mask = calls.length - 1;
+            long position = tail.get();
+            while (true) {
+                int slot = (int) position & mask;
+                long difference = sequences.get(slot) - position;
+                if (difference == 0) {
+                    if (tail.compareAndSet(position, position + 1)) {
+                        calls[slot] = call;
+                        sequences.lazySet(slot, position + 1);
+                        return true;
+                    }
+                    position = tail.get();
+                } else if (difference < 0) {
+                    return false;
+                } else {
+                    position = tail.get();
+                }
+            }
+        }
+
+        /**
+         * Takes call from the buffer
+         *
+         * @return encoded call, EMPTY if there are no calls
+         */
+        long poll() {
+            int slot = (int) head & (calls.length - 1);
+            if (sequences.get(slot) != head + 1)
+                return EMPTY;
+
+            long call = calls[slot];
+            sequences.lazySet(slot, head + calls.length);
+            head++;
+            return call;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package system;
+
+import domain.Destinations;
+import domain.Elevator;
+import enums.Direction;
+
+/**
+ * This is a class which sends the elevator which can serve the call at the lowest cost
+ *
+ * Cost is an estimated time of arrival counted along the whole planned route of the elevator:
+ * floors to go before reaching the called floor, plus a penalty for every stop on the way,
+ * plus a penalty for every person inside, because more people mean more time spent on boarding and leaving.
+ * Time is counted in floors, so a stop penalty of 3 means that a stop takes as long as going 3 floors.
+ * Elevators which do not serve the call are skipped, full elevators are skipped unless all elevators are full.
+ * When more elevators have the same cost the one added first wins.
+ * Nothing is allocated while choosing.
+ */
+public class CostDispatch implements DispatchStrategy {
+    private int stopCost; //penalty for every stop before reaching the called floor
+    private int riderCost; //penalty for every person inside the elevator
+
+    /**
+     * No-argument constructor uses default penalties
+     */
+    public CostDispatch() {
+        this(3, 1);
+    }
+
+    /**
+     * CostDispatch constructor initializes variables
+     *
+     * @param stopCost  penalty for every stop before reaching the called floor, counted in floors
+     * @param riderCost penalty for every person inside the elevator, counted in floors
+     */
+    public CostDispatch(int stopCost, int riderCost) {
+        if (stopCost < 0 || riderCost < 0)
+            throw new IllegalArgumentException("Penalties must not be negative");
+
+        this.stopCost = stopCost;
+        this.riderCost = riderCost;
+    }
+
+    @Override
+    public Elevator choose(ElevatorSystem system, int floor, Direction direction, int desiredFloor) {
+        Elevator best = null;
+        long lowest = Long.MAX_VALUE;
+        for (int i = 0; i < system.countElevators(); i++) {
+            Elevator elevator = system.getElevator(i);
+            if (!elevator.serves(floor) || !elevator.serves(desiredFloor))
+                continue;
+            //full elevator is taken only when there is nothing better
+            long cost = elevator.isFull() ? Long.MAX_VALUE - 1 : cost(elevator, floor, direction);
+            if (best == null || cost < lowest) {
+                lowest = cost;
+                best = elevator;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Estimates cost of serving the call by given elevator
+     *
+     * @param elevator  which would serve the call
+     * @param floor     represents floor where someone is waiting
+     * @param direction represents direction pressed on the calling button
+     * @return estimated time of arrival with penalty for people inside, counted in floors
+     */
+    long cost(Elevator elevator, int floor, Direction direction) {
+        //elevator on called floor takes person at once
+        if (elevator.getCurrentFloor() == floor)
+            return 0;
+
+        long riders = (long) elevator.getPeopleInside() * riderCost;
+        Destinations destinations = elevator.getDestination();
+        int position = elevator.getCurrentFloor();
+        long time = 0;
+        for (int i = 0; i < destinations.size(); i++) {
+            int next = destinations.get(i);
+            Direction heading = next > position ? Direction.UP : Direction.DOWN;
+            //called floor is passed on the way in the direction the person wants to go
+            if (heading == direction && (heading == Direction.UP ? floor > position && floor <= next : floor < position && floor >= next))
+                return time + Math.abs(floor - position) + riders;
+
+            time += Math.abs(next - position) + stopCost;
+            position = next;
+        }
+        return time + Math.abs(floor - position) + riders;
+    }
+}
@@ -0,0 +1,130 @@
+package system;
+
+import java.util.Arrays;
+
+/**
+ * This is a class which learns how many calls are made on every floor at every time of day
+ *
+ * Day is split into slots of the same length, and every slot keeps number of calls of every floor.
+ * When a slot is reached on a new day, its old numbers are multiplied by the decay,
+ * so recent days count more than old ones and the model follows changing habits.
+ * Model is updated with every call and its size never grows: slots times floors numbers at most.
+ */
+public class DemandModel {
+    private static final int MAX_FLOORS = 256; //floors learned one by one, calls from higher floors are skipped
+
+    private long ticksPerDay; //length of one day in ticks
+    private int slots; //number of slots of one day
+    private double decay; //what part of old numbers is kept after every day
+    private float[][] calls; //numbers of calls of every slot and floor, rows grow up to the highest floor seen
+    private long[] dayOfSlot; //day on which every slot was updated last time
+
+    /**
+     * DemandModel constructor initializes variables
+     *
+     * @param ticksPerDay length of one day in ticks
+     * @param slots       number of slots of one day, ex. 96 for slots of 15 minutes
+     * @param decay       what part of old numbers is kept after every day, from 0 to 1
+     */
+    public DemandModel(long ticksPerDay, int slots, double decay) {
+        if (ticksPerDay < 1 || slots < 1 || slots > ticksPerDay)
+            throw new IllegalArgumentException("Day must have at least 1 slot and every slot at least 1 tick");
+        if (!(decay >= 0 && decay <= 1))
+            throw new IllegalArgumentException("Decay must be from 0 to 1: " + decay);
+
+        this.ticksPerDay = ticksPerDay;
+        this.slots = slots;
+        this.decay = decay;
+        calls = new float[slots][0];
+        dayOfSlot = new long[slots];
+    }
+
+    /**
+     * Counts new call
+     *
+     * @param floor where call was made
+     * @param time  of the call in ticks
+     */
+    public void record(int floor, long time) {
+        if (floor < 0 || floor >= MAX_FLOORS || time < 0)
+            return;
+
+        int slot = slot(time);
+        long day = time / ticksPerDay;
+        float[] row = calls[slot];
+        if (dayOfSlot[slot] != day) {
+            //numbers from older days are made smaller once, when the slot is reached again
+            float kept = (float) Math.pow(decay, day - dayOfSlot[slot]);
+            for (int i = 0; i < row.length; i++)
+                row[i] *= kept;
+            dayOfSlot[slot] = day;
+        }
+        if (floor >= row.length) {
+            row = Arrays.copyOf(row, Math.min(Math.max(floor + 1, row.length * 2), MAX_FLOORS));
+            calls[slot] = row;
+        }
+        row[floor]++;
+    }
+
+    /**
+     * Predicts number of calls made on the floor in the slot of given time
+     *
+     * @param floor where calls are made
+     * @param time  in ticks
+     * @return expected number of calls in the whole slot, with today's calls counted as they are
+     */
+    public double predict(int floor, long time) {
+        if (time < 0)
+            return 0;
+
+        int slot = slot(time);
+        float[] row = calls[slot];
+        if (floor < 0 || floor >= row.length)
+            return 0;
+        long day = time / ticksPerDay;
+        return day > dayOfSlot[slot] ? row[floor] * Math.pow(decay, day - dayOfSlot[slot]) : row[floor];
+    }
+
+    /**
+     * Counts floors which were learned
+     *
+     * @return floor above the highest floor on which a call was counted
+     */
+    public int countFloors() {
+        int floors = 0;
+        for (float[] row : calls)
+            floors = Math.max(floors, row.length);
+        return floors;
+    }
+
+    /**
+     * Getter of slot length
+     *
+     * @return length of one slot in ticks
+     */
+    public long getSlotTicks() {
+        return ticksPerDay / slots;
+    }
+
+    /**
+     * Finds start of the next slot, until then predictions do not change unless new calls are counted
+     *
+     * @param time in ticks
+     * @return the first tick after given time which is in another slot or on another day
+     */
+    public long nextSlot(long time) {
+        long startOfDay = time - time % ticksPerDay;
+        //slot of a tick is rounded down, so the next slot starts on the first tick rounded up to it
+        return startOfDay + ((slot(time) + 1) * ticksPerDay + slots - 1) / slots;
+    }
+
+    /**
+     * Finds slot of given time
+     *
+     * @param time in ticks
+     * @return number of the slot of the day
+     */
+    private int slot(long time) {
+        return (int) ((time % ticksPerDay) * slots / ticksPerDay);
+    }
+}
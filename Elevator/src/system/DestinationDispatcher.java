@@ -0,0 +1,268 @@
+package system;
+
+import domain.Elevator;
+import domain.Person;
+import enums.Direction;
+
+import java.util.Arrays;
+
+/**
+ * This is a class which dispatches elevators when people enter their destination on the floor
+ *
+ * Calls are collected for a short window of ticks. Then people waiting on the same floor and going in the same
+ * direction are sorted by destination and split into batches, every batch has at most a given number of
+ * different destinations. Every batch is assigned to one elevator, preferring elevators which did not get
+ * a batch in this window, so one elevator does not stop on every floor while others stay empty.
+ * Full elevators get a batch only if all elevators are full.
+ * In buildings split into zones a batch goes only to elevators stopping on all its floors,
+ * if there is no such elevator every person of the batch is picked up alone.
+ */
+public class DestinationDispatcher {
+    private ElevatorSystem system; //system to control elevators
+    private CostDispatch cost; //estimates which elevator serves a batch fastest
+    private int window; //how many ticks calls are collected before being assigned
+    private int maxStops; //the biggest number of different destinations in one batch
+    private long[] calls; //collected calls: floor, direction and destination packed in one number
+    private int[] weights; //weight of the person of every collected call, in the same order as calls
+    private int size; //how many calls are collected
+    private int[] batch; //destinations of people in the batch being assigned
+    private int[] batchWeights; //weights of people in the batch being assigned
+    private boolean[] assigned; //whether elevator got a batch in this window
+    private long tick; //current tick
+    private long windowStart; //tick when the first collected call was made
+
+    /**
+     * DestinationDispatcher constructor initializes variables
+     *
+     * @param system   to control elevators, it should not get calls from anywhere else
+     * @param window   how many ticks calls are collected before being assigned
+     * @param maxStops the biggest number of different destinations given to one elevator at once
+     */
+    public DestinationDispatcher(ElevatorSystem system, int window, int maxStops) {
+        if (window < 1 || maxStops < 1)
+            throw new IllegalArgumentException("Window and number of stops must be at least 1");
+
+        this.system = system;
+        this.window = window;
+        this.maxStops = maxStops;
+        cost = new CostDispatch();
+        calls = new long[64];
+        weights = new int[64];
+        batch = new int[64];
+        batchWeights = new int[64];
+        assigned = new boolean[0];
+    }
+
+    /**
+     * Adds new person of average weight who entered destination on the floor
+     *
+     * @param floor       represents floor where person is waiting
+     * @param destination floor on which person wants to go
+     * @throws IllegalArgumentException if there is no such floor or no elevator stops on both floors
+     * @see Person#AVERAGE_WEIGHT
+     */
+    public void call(int floor, int destination) {
+        call(floor, destination, Person.AVERAGE_WEIGHT);
+    }
+
+    /**
+     * Adds new person who entered destination on the floor
+     *
+     * @param floor       represents floor where person is waiting
+     * @param destination floor on which person wants to go
+     * @param weight      weight of the person in kilograms
+     * @throws IllegalArgumentException if there is no such floor, no elevator stops on both floors
+     *                                  or no elevator can carry the person
+     */
+    public void call(int floor, int destination, int weight) {
+        if (floor == destination || !system.getBuilding().hasFloor(floor) || !system.getBuilding().hasFloor(destination))
+            throw new IllegalArgumentException("Wrong call: floor " + floor + ", destination " + destination);
+        if (!system.canServe(floor, destination))
+            throw new IllegalArgumentException("No elevator goes from the floor " + floor + " to the floor " + destination);
+        if (!system.canCarry(weight))
+            throw new IllegalArgumentException("No elevator can carry person of weight " + weight);
+
+        if (size == 0)
+            windowStart = tick;
+        if (size == calls.length) {
+            calls = Arrays.copyOf(calls, size * 2);
+            weights = Arrays.copyOf(weights, size * 2);
+        }
+        //people are sorted by floor, then by direction and then by destination, going down destinations are reversed
+        int direction = destination > floor ? 1 : 0;
+        int order = direction == 1 ? destination : Integer.MAX_VALUE - destination;
+        calls[size] = ((long) floor << 32) | ((long) direction << 31) | order;
+        weights[size++] = weight;
+    }
+
+    /**
+     * Assigns collected calls if window is over and moves all elevators by one
+     */
+    public void advance() {
+        if (size > 0 && tick - windowStart + 1 >= window)
+            flush();
+        system.advance();
+        tick++;
+    }
+
+    /**
+     * Assigns all collected calls at once
+     */
+    public void flush() {
+        if (assigned.length < system.countElevators())
+            assigned = new boolean[system.countElevators()];
+        Arrays.fill(assigned, false);
+        sortCalls();
+
+        int start = 0;
+        while (start < size) {
+            //batch ends when floor or direction changes or when there would be too many stops
+            int floor = (int) (calls[start] >>> 32);
+            int stops = 0;
+            int end = start;
+            while (end < size && (calls[end] >>> 31) == (calls[start] >>> 31)) {
+                int destination = destination(calls[end]);
+                if (end == start || destination != destination(calls[end - 1])) {
+                    if (stops == maxStops)
+                        break;
+                    stops++;
+                }
+                if (end - start == batch.length) {
+                    batch = Arrays.copyOf(batch, batch.length * 2);
+                    batchWeights = Arrays.copyOf(batchWeights, batch.length);
+                }
+                batch[end - start] = destination;
+                batchWeights[end - start] = weights[end];
+                end++;
+            }
+
+            Direction direction = batch[0] > floor ? Direction.UP : Direction.DOWN;
+            Elevator elevator = chooseElevator(floor, direction, end - start);
+            if (elevator != null) {
+                system.pickupGroup(floor, batch, batchWeights, 0, end - start, elevator);
+            } else {
+                for (int i = 0; i < end - start; i++)
+                    system.pickup(floor, batch[i] - floor, batchWeights[i]);
+            }
+            start = end;
+        }
+        size = 0;
+    }
+
+    /**
+     * Checks whether there are calls which were not assigned yet
+     *
+     * @return true if some calls are still collected
+     */
+    public boolean hasWaitingCalls() {
+        return size > 0;
+    }
+
+    /**
+     * Chooses elevator with the lowest cost, elevators which are not full are preferred,
+     * and then elevators without a batch in this window
+     *
+     * @param floor     where the batch is waiting
+     * @param direction where the batch wants to go
+     * @param people    how many people are in the batch
+     * @return elevator which takes the batch, null if no elevator stops on all floors of the batch and carries everyone
+     */
+    private Elevator chooseElevator(int floor, Direction direction, int people) {
+        int best = -1;
+        long lowest = Long.MAX_VALUE;
+        int bestRank = Integer.MAX_VALUE;
+        for (int i = 0; i < system.countElevators(); i++) {
+            Elevator elevator = system.getElevator(i);
+            if (!servesBatch(elevator, floor, people))
+                continue;
+            int rank = (elevator.isFull() ? 2 : 0) + (assigned[i] ? 1 : 0);
+            if (rank > bestRank)
+                continue;
+            long estimate = cost.cost(elevator, floor, direction);
+            if (rank < bestRank || estimate < lowest) {
+                best = i;
+                lowest = estimate;
+                bestRank = rank;
+            }
+        }
+        if (best == -1)
+            return null;
+        assigned[best] = true;
+        return system.getElevator(best);
+    }
+
+    /**
+     * Checks whether elevator stops on the floor of the batch and on all destinations in the batch
+     * and whether it can carry everyone of the batch
+     *
+     * @param elevator to be checked
+     * @param floor    where the batch is waiting
+     * @param people   how many people are in the batch
+     * @return true if elevator can take the whole batch
+     */
+    private boolean servesBatch(Elevator elevator, int floor, int people) {
+        if (!elevator.serves(floor))
+            return false;
+        for (int i = 0; i < people; i++) {
+            if (!elevator.serves(batch[i]) || !elevator.canCarry(batchWeights[i]))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Sorts collected calls with heap sort, weights are moved together with their calls and nothing is allocated
+     */
+    private void sortCalls() {
+        for (int i = size / 2 - 1; i >= 0; i--)
+            siftDown(i, size);
+        for (int end = size - 1; end > 0; end--) {
+            swap(0, end);
+            siftDown(0, end);
+        }
+    }
+
+    /**
+     * Moves call down the heap until both its children are smaller
+     *
+     * @param i   index of the call
+     * @param end index after the last call of the heap
+     */
+    private void siftDown(int i, int end) {
+        while (2 * i + 1 < end) {
+            int child = 2 * i + 1;
+            if (child + 1 < end && calls[child + 1] > calls[child])
+                child++;
+            if (calls[i] >= calls[child])
+                return;
+            swap(i, child);
+            i = child;
+        }
+    }
+
+    /**
+     * Swaps two calls and their weights
+     *
+     * @param i index of the first call
+     * @param j index of the second call
+     */
+    private void swap(int i, int j) {
+        long call = calls[i];
+        calls[i] = calls[j];
+        calls[j] = call;
+        int weight = weights[i];
+        weights[i] = weights[j];
+        weights[j] = weight;
+    }
+
+    /**
+     * Unpacks destination from the call
+     *
+     * @param call packed floor, direction and destination
+     * @return floor on which person wants to go
+     */
+    private static int destination(long call) {
+        int order = (int) (call & 0x7FFFFFFFL);
+        return ((call >>> 31) & 1) == 1 ? order : Integer.MAX_VALUE - order;
+    }
+}
@@ -0,0 +1,23 @@
+package system;
+
+import domain.Elevator;
+import enums.Direction;
+
+/**
+ * This is an interface of rules choosing which elevator handles a new call
+ *
+ * @see ElevatorSystem#setDispatchStrategy(DispatchStrategy)
+ */
+public interface DispatchStrategy {
+    /**
+     * Finds the best elevator to be sent to given floor
+     *
+     * @param system       whose elevators can be chosen, at least one of them serves the call
+     * @param floor        represents floor where someone is waiting
+     * @param direction    represents direction pressed on the calling button
+     * @param desiredFloor floor on which person wants to go, chosen elevator must serve it and the called floor
+     * @return a most suitable elevator to handle this person's call
+     * @see Elevator#serves(int)
+     */
+    Elevator choose(ElevatorSystem system, int floor, Direction direction, int desiredFloor);
+}
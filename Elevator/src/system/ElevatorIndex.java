@@ -0,0 +1,398 @@
+package system;
+
+import domain.Elevator;
+import domain.ElevatorListener;
+import enums.Direction;
+
+import java.util.*;
+
+/**
+ * This is a class which indexes elevators by floors, so the nearest elevator is found without checking all of them
+ *
+ * One index keeps elevators serving the same floors, so every elevator in the index can serve every call it is asked about.
+ * Elevators are numbered in order of adding to the system, and when more elevators are equally good the lowest number wins,
+ * so the index chooses exactly the same elevator as checking all elevators one by one.
+ * Queues are followed through {@link ElevatorListener}, floors and directions are refreshed by {@link #update(Elevator)}.
+ * Full elevators are taken out of the index until someone leaves them, so dispatch never looks at them.
+ */
+class ElevatorIndex implements ElevatorListener {
+    private static final long NUMBER_MASK = 0x7FFFFFFFL; //part of the rank keeping number of elevator
+
+    private BitSet servedFloors; //floors served by all elevators in the index, null if they serve every floor
+    private List<Elevator> elevators; //indexed elevators in order of adding
+    private int[] systemNumbers; //number of every indexed elevator in the system
+    private Map<Elevator, Integer> numbers; //number of every indexed elevator
+    private int[] floors; //indexed floor of every elevator
+    private Direction[] directions; //indexed direction of every elevator
+    private boolean[] idle; //whether elevator was indexed as not busy
+    private boolean[] available; //whether elevator is in the index, full elevators are not
+    private FloorSets queued; //floors and elevators which have this floor in their queue
+    private FloorSets waiting; //floors and not busy elevators standing on them
+    private FloorSets[] byDirection; //for every direction: floors and elevators on them
+    private boolean deferring; //whether changes of queues are remembered instead of being applied
+    private int[][] pending; //remembered changes of queue of every elevator: added floor or ~removed floor
+    private int[] pendingSize; //how many changes are remembered for every elevator
+    private ElevatorListener next; //listener told about every change of queues after the index, null if there is none
+
+    /**
+     * ElevatorIndex constructor initializes variables
+     *
+     * @param servedFloors floors served by all elevators in the index, null if they serve every floor
+     */
+    ElevatorIndex(BitSet servedFloors) {
+        this.servedFloors = servedFloors;
+        elevators = new ArrayList<>();
+        systemNumbers = new int[16];
+        numbers = new IdentityHashMap<>();
+        floors = new int[16];
+        directions = new Direction[16];
+        idle = new boolean[16];
+        available = new boolean[16];
+        pending = new int[16][];
+        pendingSize = new int[16];
+        queued = new FloorSets();
+        waiting = new FloorSets();
+        byDirection = new FloorSets[Direction.values().length];
+        for (int i = 0; i < byDirection.length; i++)
+            byDirection[i] = new FloorSets();
+    }
+
+    /**
+     * Checks whether elevators from this index can stop on given floor
+     *
+     * @param floor to be checked
+     * @return true if floor is served by all elevators in the index
+     */
+    boolean serves(int floor) {
+        return floor >= 0 && (servedFloors == null || servedFloors.get(floor));
+    }
+
+    /**
+     * Checks whether elevators from this index serve exactly given floors
+     *
+     * @param floors to be compared, null means every floor
+     * @return true if the same floors are served
+     */
+    boolean servesExactly(BitSet floors) {
+        return Objects.equals(servedFloors, floors);
+    }
+
+    /**
+     * Adds elevator to the index and starts following its queue
+     *
+     * @param elevator     to be added
+     * @param systemNumber number of elevator in the system, elevators must be added in order of these numbers
+     * @return number of the elevator in the index
+     */
+    int add(Elevator elevator, int systemNumber) {
+        int number = elevators.size();
+        if (number == floors.length) {
+            systemNumbers = Arrays.copyOf(systemNumbers, number * 2);
+            floors = Arrays.copyOf(floors, number * 2);
+            directions = Arrays.copyOf(directions, number * 2);
+            idle = Arrays.copyOf(idle, number * 2);
+            available = Arrays.copyOf(available, number * 2);
+            pending = Arrays.copyOf(pending, number * 2);
+            pendingSize = Arrays.copyOf(pendingSize, number * 2);
+        }
+        pending[number] = new int[4];
+        systemNumbers[number] = systemNumber;
+        elevators.add(elevator);
+        numbers.put(elevator, number);
+
+        floors[number] = elevator.getCurrentFloor();
+        directions[number] = elevator.getDirection();
+        idle[number] = elevator.getDestination().isEmpty();
+        available[number] = !elevator.isFull();
+        if (available[number])
+            putAll(number, elevator);
+
+        elevator.setListener(this);
+        return number;
+    }
+
+    /**
+     * Refreshes floor of the elevator which only passed floors, its direction, queue and load did not change
+     *
+     * @param number of the elevator in the index
+     * @param floor  new floor of the elevator
+     */
+    void passed(int number, int floor) {
+        if (available[number]) {
+            FloorSets sets = byDirection[directions[number].ordinal()];
+            sets.remove(floors[number], number);
+            sets.put(floor, number);
+        }
+        floors[number] = floor;
+    }
+
+    /**
+     * Refreshes floor, direction and business of the elevator after it moved or got new destination
+     *
+     * @param elevator to be refreshed
+     */
+    void update(Elevator elevator) {
+        update(numbers.get(elevator), elevator);
+    }
+
+    /**
+     * Refreshes floor, direction and business of the elevator after it moved or got new destination
+     *
+     * @param number   of the elevator in the index
+     * @param elevator to be refreshed
+     */
+    void update(int number, Elevator elevator) {
+        int floor = elevator.getCurrentFloor();
+        Direction direction = elevator.getDirection();
+        boolean notBusy = elevator.getDestination().isEmpty();
+        boolean notFull = !elevator.isFull();
+
+        //elevator became full - take it out of the index
+        if (available[number] && !notFull)
+            removeAll(number, elevator);
+
+        if (available[number] && notFull) {
+            if (floor != floors[number] || direction != directions[number]) {
+                byDirection[directions[number].ordinal()].remove(floors[number], number);
+                byDirection[direction.ordinal()].put(floor, number);
+            }
+            if (idle[number] && (!notBusy || floor != floors[number]))
+                waiting.remove(floors[number], number);
+            if (notBusy && (!idle[number] || floor != floors[number]))
+                waiting.put(floor, number);
+        }
+
+        floors[number] = floor;
+        directions[number] = direction;
+        idle[number] = notBusy;
+
+        //elevator is not full anymore - put it back to the index
+        if (!available[number] && notFull)
+            putAll(number, elevator);
+        available[number] = notFull;
+    }
+
+    /**
+     * Finds the best elevator of this index to be sent to given floor
+     *
+     * Rank of an elevator standing on the called floor or having it in its queue is lower than rank of any other elevator,
+     * then ranks of the nearest elevators going in the same direction or not active,
+     * and the highest is rank of the first elevator when there is no such elevator.
+     * Equal elevators are ranked by their numbers in the system, so ranks from many indexes can be compared.
+     *
+     * @param floor     represents floor where someone is waiting
+     * @param direction represents direction pressed on the calling button
+     * @return rank of a most suitable elevator to handle this person's call, the lower the better
+     * @see #number(long)
+     */
+    long findNearestElevatorWithSameDirection(int floor, Direction direction) {
+        //if some elevator is on called floor and it is not active, or it has this floor on it's queue - return the first one
+        int first = Math.min(waiting.lowest(floor), queued.lowest(floor));
+        if (first != Integer.MAX_VALUE)
+            return rank(0, 0, first);
+
+        //check which elevator is nearest and has same direction or is not active
+        FloorSets same = byDirection[direction.ordinal()];
+        FloorSets staying = byDirection[Direction.STAY.ordinal()];
+        long distance = Math.min(same.distance(floor), staying.distance(floor));
+        if (distance == Long.MAX_VALUE)
+            return rank(2, 0, 0);
+
+        int below = (int) (floor - distance);
+        int above = (int) (floor + distance);
+        int nearest = Math.min(Math.min(same.lowest(below), same.lowest(above)),
+                Math.min(staying.lowest(below), staying.lowest(above)));
+        return rank(1, distance, nearest);
+    }
+
+    /**
+     * Unpacks number of elevator in the system from its rank
+     *
+     * @param rank of elevator
+     * @return number of elevator in the system
+     * @see #findNearestElevatorWithSameDirection(int, Direction)
+     */
+    static int number(long rank) {
+        return (int) (rank & NUMBER_MASK);
+    }
+
+    /**
+     * Packs kind of match, distance and number of elevator into one rank
+     *
+     * @param kind     0 for elevator on the floor or having it in its queue, 1 for the nearest, 2 for the first elevator
+     * @param distance from the called floor
+     * @param number   of elevator in this index
+     * @return rank of elevator, the lower the better
+     */
+    private long rank(int kind, long distance, int number) {
+        return ((long) kind << 62) | (distance << 31) | systemNumbers[number];
+    }
+
+    /**
+     * Starts remembering changes of queues instead of applying them,
+     * so elevators can be moved by many threads at once as long as every elevator is moved by one thread
+     *
+     * @see #commit()
+     */
+    void defer() {
+        deferring = true;
+    }
+
+    /**
+     * Applies remembered changes of queues and refreshes all elevators
+     *
+     * @see #defer()
+     */
+    void commit() {
+        deferring = false;
+        for (int number = 0; number < elevators.size(); number++) {
+            for (int i = 0; i < pendingSize[number]; i++) {
+                int change = pending[number][i];
+                if (change < 0)
+                    queued.remove(~change, number);
+                else if (available[number])
+                    queued.put(change, number);
+            }
+            pendingSize[number] = 0;
+            update(number, elevators.get(number));
+        }
+    }
+
+    @Override
+    public void destinationAdded(Elevator elevator, int floor) {
+        int number = numbers.get(elevator);
+        if (deferring)
+            remember(number, floor);
+        else if (available[number])
+            queued.put(floor, number);
+        if (next != null)
+            next.destinationAdded(elevator, floor);
+    }
+
+    @Override
+    public void destinationRemoved(Elevator elevator, int floor) {
+        if (deferring)
+            remember(numbers.get(elevator), ~floor);
+        else
+            queued.remove(floor, numbers.get(elevator));
+        if (next != null)
+            next.destinationRemoved(elevator, floor);
+    }
+
+    /**
+     * Setter of next
+     *
+     * @param next listener told about every change of queues after the index, null if there is none
+     */
+    void setNext(ElevatorListener next) {
+        this.next = next;
+    }
+
+    /**
+     * Remembers change of queue of the elevator, only the thread moving this elevator calls it
+     *
+     * @param number of elevator
+     * @param change added floor or ~removed floor
+     */
+    private void remember(int number, int change) {
+        if (pendingSize[number] == pending[number].length)
+            pending[number] = Arrays.copyOf(pending[number], pendingSize[number] * 2);
+        pending[number][pendingSize[number]++] = change;
+    }
+
+    /**
+     * Puts elevator in all parts of the index
+     *
+     * @param number   of elevator
+     * @param elevator to be put
+     */
+    private void putAll(int number, Elevator elevator) {
+        for (int i = 0; i < elevator.getDestination().size(); i++)
+            queued.put(elevator.getDestination().get(i), number);
+        byDirection[directions[number].ordinal()].put(floors[number], number);
+        if (idle[number])
+            waiting.put(floors[number], number);
+    }
+
+    /**
+     * Takes elevator out of all parts of the index, its floor and direction are the ones indexed last time
+     *
+     * @param number   of elevator
+     * @param elevator to be taken out
+     */
+    private void removeAll(int number, Elevator elevator) {
+        for (int i = 0; i < elevator.getDestination().size(); i++)
+            queued.remove(elevator.getDestination().get(i), number);
+        byDirection[directions[number].ordinal()].remove(floors[number], number);
+        if (idle[number])
+            waiting.remove(floors[number], number);
+    }
+
+    /**
+     * This is a class which keeps sets of elevators on floors
+     *
+     * Every floor has a set of numbers of elevators and there is a set of floors which have any elevators,
+     * all sets are bit sets, so nothing is allocated once they grew big enough.
+     */
+    private static class FloorSets {
+        private List<BitSet> elevatorsOnFloors = new ArrayList<>(); //numbers of elevators on positions of their floors
+        private BitSet floors = new BitSet(); //floors which have elevators
+
+        /**
+         * Adds number of elevator to the set of given floor
+         *
+         * @param floor  key of the set
+         * @param number of elevator to be added
+         */
+        void put(int floor, int number) {
+            while (elevatorsOnFloors.size() <= floor)
+                elevatorsOnFloors.add(new BitSet());
+            elevatorsOnFloors.get(floor).set(number);
+            floors.set(floor);
+        }
+
+        /**
+         * Removes number of elevator from the set of given floor
+         *
+         * @param floor  key of the set
+         * @param number of elevator to be removed
+         */
+        void remove(int floor, int number) {
+            if (floor < 0 || floor >= elevatorsOnFloors.size())
+                return;
+            BitSet set = elevatorsOnFloors.get(floor);
+            set.clear(number);
+            if (set.isEmpty())
+                floors.clear(floor);
+        }
+
+        /**
+         * Finds the lowest number of elevator on the floor
+         *
+         * @param floor key of the set
+         * @return the lowest number, Integer.MAX_VALUE if there are no elevators
+         */
+        int lowest(int floor) {
+            if (floor < 0 || !floors.get(floor))
+                return Integer.MAX_VALUE;
+            return elevatorsOnFloors.get(floor).nextSetBit(0);
+        }
+
+        /**
+         * Finds distance to the nearest floor which has elevators
+         *
+         * @param floor from which distance is counted
+         * @return distance to the nearest floor, Long.MAX_VALUE if there are no elevators
+         */
+        long distance(int floor) {
+            long distance = Long.MAX_VALUE;
+            int below = floors.previousSetBit(floor);
+            if (below >= 0)
+                distance = (long) floor - below;
+            int above = floors.nextSetBit(floor);
+            if (above >= 0)
+                distance = Math.min(distance, (long) above - floor);
+            return distance;
+        }
+    }
+}
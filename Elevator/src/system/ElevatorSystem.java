@@ -0,0 +1,827 @@
+package system;
+
+import domain.Building;
+import domain.Elevator;
+import domain.Fleet;
+import domain.PassengerListener;
+import domain.Person;
+import domain.PersonPool;
+import enums.Direction;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * This is a class to control elevators
+ */
+public class ElevatorSystem {
+    private static final int PARALLEL_THRESHOLD = 256; //below this number of elevators moving one after another is faster
+
+    private Building building; //shape of the building
+    private List<Elevator> elevators; //list of available elevators in the building
+    private List<List<Person>> peopleWaiting; //lists of people waiting on positions of their floors
+    private List<ElevatorIndex> indexes; //elevators indexed by floors and directions, one index for every set of served floors
+    private Fleet fleet; //floors, directions and next stops of all elevators in parallel arrays, positions are numbers of elevators
+    private ElevatorIndex[] indexOf; //index of every elevator by its number
+    private int[] numberInIndex; //number of every elevator in its index
+    private DispatchStrategy dispatchStrategy; //rule choosing which elevator handles a new call
+    private ForkJoinPool pool; //pool moving elevators in parallel, null if elevators move one after another
+    private long[] arrivals; //floors which elevators are on after this tick and numbers of these elevators
+    private int[] groups; //indexes in arrivals where elevators reaching next floor start
+    private long time; //current time in ticks, people are stamped with it when they call, get in and get out
+    private PassengerListener passengerListener; //listener told when people get in and out, null if there is none
+    private PersonPool people; //people who left elevators, used again for new calls
+    private int maxLoad; //the biggest load in kilograms which any elevator can carry
+    private int minLoad; //the biggest load in kilograms which every elevator can carry
+    private Journal journal; //journal of every change, null if changes are not written
+    private StatusPublisher statusPublisher; //publisher told about elevators which changed after every tick, null if there is none
+    private ParkingPolicy parkingPolicy; //rule moving elevators which have nothing to do, null if they stay where they are
+
+    /**
+     * No-argument constructor initializes variables, building can have any number of floors
+     */
+    public ElevatorSystem() {
+        this(new Building(Integer.MAX_VALUE));
+    }
+
+    /**
+     * ElevatorSystem constructor initializes variables
+     *
+     * @param building shape of the building
+     */
+    public ElevatorSystem(Building building) {
+        this.building = building;
+        elevators = new ArrayList<>();
+        peopleWaiting = new ArrayList<>();
+        indexes = new ArrayList<>();
+        fleet = new Fleet(16);
+        indexOf = new ElevatorIndex[16];
+        numberInIndex = new int[16];
+        dispatchStrategy = new NearestDispatch();
+        arrivals = new long[0];
+        groups = new int[0];
+        people = new PersonPool();
+        minLoad = Integer.MAX_VALUE;
+    }
+
+    /**
+     * Prints status of all elevators in the building
+     */
+    public void status() {
+        for (Elevator elevator : elevators)
+            System.out.println(elevator);
+    }
+
+    /**
+     * Adds new person of average weight waiting to be picked up
+     *
+     * @param floor     represents floor where person is waiting
+     * @param direction represents how many floors person wants to go
+     *                  ex. -5 means that person wants to go 5 floors below
+     * @throws IllegalArgumentException if there is no such floor or no elevator stops on both floors
+     * @see Person#AVERAGE_WEIGHT
+     */
+    public void pickup(int floor, int direction) {
+        pickup(floor, direction, Person.AVERAGE_WEIGHT);
+    }
+
+    /**
+     * Adds new person waiting to be picked up
+     *
+     * @param floor     represents floor where person is waiting
+     * @param direction represents how many floors person wants to go
+     *                  ex. -5 means that person wants to go 5 floors below
+     * @param weight    weight of the person in kilograms
+     * @throws IllegalArgumentException if there is no such floor, no elevator stops on both floors
+     *                                  or no elevator stopping on both floors can carry the person
+     */
+    public void pickup(int floor, int direction, int weight) {
+        if (direction == 0 || !building.hasFloor(floor) || !building.hasFloor(floor + direction))
+            throw new IllegalArgumentException("Wrong call: floor " + floor + ", direction " + direction);
+        if (!canServe(floor, floor + direction))
+            throw new IllegalArgumentException("No elevator goes from the floor " + floor + " to the floor " + (floor + direction));
+        if (!canCarry(weight))
+            throw new IllegalArgumentException("No elevator can carry person of weight " + weight);
+        if (weight > minLoad && findNearestCarrying(floor, floor + direction, weight) == null)
+            throw new IllegalArgumentException("No elevator going from the floor " + floor + " to the floor " + (floor + direction)
+                    + " can carry person of weight " + weight);
+        if (journal != null)
+            journal.pickup(floor, direction, weight);
+        if (parkingPolicy != null)
+            parkingPolicy.called(floor, time);
+
+        Direction dir = direction < 0 ? Direction.DOWN : Direction.UP;
+        Elevator elevator = choose(floor, dir, floor + direction, weight);
+        if (journal != null)
+            journal.assigned(elevator, floor);
+
+        //person is taken from people who left elevators, so steady work allocates nothing
+        Person person = people.take(floor + direction, weight);
+        person.setCalledAt(time);
+
+        //if elevator is already here and person fits, person gets in at once
+        if (elevator.getCurrentFloor() == floor && elevator.canFit(person)) {
+            elevator.addDestination(person.getDesiredFloor(), Direction.STAY);
+            elevator.addPerson(person, time);
+            update(elevator);
+            return;
+        }
+        waitingOn(floor).add(person);
+        callElevator(elevator, floor, dir);
+    }
+
+    /**
+     * Adds group of people waiting on the same floor, all of them are told to take given elevator
+     *
+     * @param floor         represents floor where people are waiting
+     * @param desiredFloors floors on which people want to go, all of them above or all of them below the floor
+     * @param weights       weights of people in kilograms, in the same order as desiredFloors
+     * @param from          index of the first person of the group in desiredFloors
+     * @param to            index after the last person of the group in desiredFloors
+     * @param elevator      which takes the whole group
+     * @throws IllegalArgumentException if the elevator can not carry some person
+     */
+    public void pickupGroup(int floor, int[] desiredFloors, int[] weights, int from, int to, Elevator elevator) {
+        for (int i = from; i < to; i++) {
+            if (weights[i] < 0 || !elevator.canCarry(weights[i]))
+                throw new IllegalArgumentException("Elevator " + elevator.getID() + " can not carry person of weight " + weights[i]);
+        }
+        if (journal != null)
+            journal.group(floor, desiredFloors, weights, from, to, elevator);
+        boolean someoneWaits = false;
+        for (int i = from; i < to; i++) {
+            if (parkingPolicy != null)
+                parkingPolicy.called(floor, time);
+            Person person = people.take(desiredFloors[i], weights[i]);
+            person.setCalledAt(time);
+            //if elevator is already here, everyone who fits gets in at once
+            if (elevator.getCurrentFloor() == floor && elevator.canFit(person)) {
+                elevator.addDestination(person.getDesiredFloor(), Direction.STAY);
+                elevator.addPerson(person, time);
+                continue;
+            }
+            person.setAssigned(elevator);
+            waitingOn(floor).add(person);
+            someoneWaits = true;
+        }
+
+        if (someoneWaits)
+            callElevator(elevator, floor, desiredFloors[from] > floor ? Direction.UP : Direction.DOWN);
+        else
+            update(elevator);
+    }
+
+    /**
+     * Checks whether any elevator can take person from one floor to another
+     *
+     * @param floor        represents floor where person is waiting
+     * @param desiredFloor floor on which person wants to go
+     * @return true if some elevator stops on both floors
+     */
+    public boolean canServe(int floor, int desiredFloor) {
+        for (int i = 0; i < indexes.size(); i++) {
+            if (indexes.get(i).serves(floor) && indexes.get(i).serves(desiredFloor))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether person of given weight fits in any elevator
+     *
+     * @param weight of the person in kilograms
+     * @return true if weight is not negative and some elevator can carry it
+     */
+    public boolean canCarry(int weight) {
+        return weight >= 0 && weight <= maxLoad;
+    }
+
+    /**
+     * Getter of people waiting on the floor, list is created if it does not exist
+     *
+     * @param floor where people are waiting
+     * @return list of people waiting on the floor
+     */
+    private List<Person> waitingOn(int floor) {
+        while (peopleWaiting.size() <= floor)
+            peopleWaiting.add(new ArrayList<>());
+        return peopleWaiting.get(floor);
+    }
+
+    /**
+     * Getter of people waiting
+     *
+     * @return lists of people waiting on positions of their floors, they must not be changed
+     */
+    public List<List<Person>> getPeopleWaiting() {
+        return peopleWaiting;
+    }
+
+    /**
+     * Adds person waiting on the floor without calling any elevator, used when saved state is restored
+     *
+     * @param floor  where person is waiting
+     * @param person who waits, elevator assigned to the person should already have the floor in its queue
+     * @see Snapshot#load(java.nio.file.Path)
+     */
+    void restoreWaiting(int floor, Person person) {
+        waitingOn(floor).add(person);
+    }
+
+    /**
+     * Asks dispatch strategy for the elevator, elevator which can not carry the person is replaced by the nearest one which can
+     *
+     * Elevator too small for the person would come and leave the person behind again and again,
+     * so in fleets of elevators with different loads it is never sent.
+     *
+     * @param floor        represents floor where person is waiting
+     * @param direction    represents direction pressed on the calling button
+     * @param desiredFloor floor on which person wants to go
+     * @param weight       weight of the person in kilograms
+     * @return elevator which handles the call
+     */
+    private Elevator choose(int floor, Direction direction, int desiredFloor, int weight) {
+        Elevator elevator = dispatchStrategy.choose(this, floor, direction, desiredFloor);
+        if (weight <= minLoad || elevator.canCarry(weight))
+            return elevator;
+        return findNearestCarrying(floor, desiredFloor, weight);
+    }
+
+    /**
+     * Finds the nearest elevator which stops on both floors and can carry the person
+     *
+     * @param floor        represents floor where person is waiting
+     * @param desiredFloor floor on which person wants to go
+     * @param weight       weight of the person in kilograms
+     * @return the nearest such elevator, the first added one if many are as near, null if there is none
+     */
+    private Elevator findNearestCarrying(int floor, int desiredFloor, int weight) {
+        Elevator nearest = null;
+        int distance = Integer.MAX_VALUE;
+        for (int i = 0; i < elevators.size(); i++) {
+            Elevator elevator = elevators.get(i);
+            if (!elevator.serves(floor) || !elevator.serves(desiredFloor) || !elevator.canCarry(weight))
+                continue;
+            int floors = Math.abs(elevator.getCurrentFloor() - floor);
+            if (floors < distance) {
+                nearest = elevator;
+                distance = floors;
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * Refreshes elevator in its index after it moved or got new destination
+     *
+     * @param elevator to be refreshed
+     */
+    private void update(Elevator elevator) {
+        int number = elevator.getSlot();
+        indexOf[number].update(numberInIndex[number], elevator);
+    }
+
+    /**
+     * Adds floor to the queue of the elevator, unless elevator is standing on it with nothing to do
+     *
+     * @param elevator  which has to come
+     * @param floor     represents floor where someone is waiting
+     * @param direction represents direction pressed on the calling button
+     */
+    private void callElevator(Elevator elevator, int floor, Direction direction) {
+        //elevator standing here with empty queue takes people on its next stop here, going away would not help
+        if (elevator.getCurrentFloor() != floor || !elevator.getDestination().isEmpty())
+            elevator.addDestination(floor, direction);
+        update(elevator);
+    }
+
+    /**
+     * Sends other elevators to people who did not fit in elevators which moved in the last tick
+     */
+    private void redispatchPeopleLeftBehind() {
+        for (int number = 0; number < elevators.size(); number++) {
+            if (fleet.hasLeftPeopleBehind(number))
+                redispatchPeopleLeftBehind(elevators.get(number));
+        }
+    }
+
+    /**
+     * Sends other elevators to people who did not fit in the full elevator on its current floor
+     *
+     * @param full elevator which left people behind in its last move
+     */
+    private void redispatchPeopleLeftBehind(Elevator full) {
+        int floor = full.getCurrentFloor();
+        List<Person> waiting = waitingOn(floor);
+        for (int i = 0; i < waiting.size(); i++) {
+            Person person = waiting.get(i);
+            //only people who wanted to take the full elevator were left behind
+            if (!person.canTake(full) || !full.serves(person.getDesiredFloor()))
+                continue;
+
+            //people told to take the full elevator can take any elevator now
+            person.setAssigned(null);
+            Direction direction = person.getDesiredFloor() > floor ? Direction.UP : Direction.DOWN;
+            Elevator elevator = choose(floor, direction, person.getDesiredFloor(), person.getWeight());
+            if (journal != null)
+                journal.assigned(elevator, floor);
+
+            //if elevator is already here and person fits, person gets in at once
+            if (elevator.getCurrentFloor() == floor && elevator.canFit(person)) {
+                elevator.addDestination(person.getDesiredFloor(), Direction.STAY);
+                elevator.addPerson(person, time);
+                waiting.remove(i--);
+                update(elevator);
+                continue;
+            }
+            callElevator(elevator, floor, direction);
+        }
+    }
+
+    /**
+     * Moves all elevator by one,
+     * elevators which changed are published to subscribers instead of being printed
+     *
+     * @see #setStatusPublisher(StatusPublisher)
+     */
+    public void step() {
+        advance();
+    }
+
+    /**
+     * Moves all elevators by one without printing anything, one tick passes
+     *
+     * @see #step()
+     * @see #setPool(ForkJoinPool)
+     */
+    public void advance() {
+        time++;
+        if (journal != null)
+            journal.advance(1);
+        if (pool != null && elevators.size() >= PARALLEL_THRESHOLD) {
+            advanceInParallel();
+        } else {
+            for (int i = 0; i < elevators.size(); i++) {
+                //elevators standing still or only passing a floor are moved in the fleet without touching their objects
+                if (fleet.pass(i)) {
+                    if (fleet.isMoving(i))
+                        indexOf[i].passed(numberInIndex[i], fleet.getFloor(i));
+                    continue;
+                }
+                Elevator elevator = fleet.get(i);
+                elevator.moveByOne(peopleWaiting, time);
+                update(elevator);
+                people.refill(elevator.getPool());
+            }
+            redispatchPeopleLeftBehind();
+        }
+        parkIdleElevators();
+        publishStatus();
+    }
+
+    /**
+     * Moves all elevators by given number of ticks, the result is exactly the same as calling advance() so many times
+     *
+     * Between events nothing happens: moving elevators only pass floors before their next stops,
+     * and idle elevators stand still. So time jumps straight to the tick before the next event,
+     * elevators are moved by many floors at once, and only ticks with events are made one by one.
+     * Status is published only on ticks with events.
+     *
+     * @param ticks how many ticks pass
+     * @see #nextEvent()
+     */
+    public void advance(long ticks) {
+        if (ticks < 0)
+            throw new IllegalArgumentException("Number of ticks can not be negative");
+
+        long end = time + ticks;
+        while (time < end) {
+            long next = end - time == 1 ? time + 1 : Math.min(nextEvent(), end);
+            if (next > time + 1)
+                travel(next - 1 - time);
+            advance();
+        }
+    }
+
+    /**
+     * Finds the next tick on which something more than passing floors can happen, calls are not counted
+     *
+     * @return the earliest tick on which any elevator reaches its next stop or parking policy may move elevators,
+     * Long.MAX_VALUE if nothing will happen until the next call
+     */
+    public long nextEvent() {
+        long next = Long.MAX_VALUE;
+        for (int i = 0; i < fleet.size(); i++) {
+            if (fleet.isMoving(i))
+                next = Math.min(next, time + Math.max(1, fleet.countFloorsToNextStop(i)));
+        }
+        if (parkingPolicy != null)
+            next = Math.min(next, parkingPolicy.nextPark(this));
+        return next;
+    }
+
+    /**
+     * Lets time pass without events, moving elevators pass floors before their next stops
+     *
+     * @param ticks how many ticks pass, less than ticks to the next event
+     */
+    private void travel(long ticks) {
+        for (int i = 0; i < fleet.size(); i++) {
+            if (!fleet.isMoving(i))
+                continue;
+            fleet.travel(i, (int) ticks);
+            indexOf[i].passed(numberInIndex[i], fleet.getFloor(i));
+        }
+        time += ticks;
+        if (journal != null)
+            journal.advance(ticks);
+    }
+
+    /**
+     * Lets parking policy move elevators which have nothing to do, called after every tick
+     *
+     * @see #setParkingPolicy(ParkingPolicy)
+     */
+    public void parkIdleElevators() {
+        if (parkingPolicy != null)
+            parkingPolicy.park(this);
+    }
+
+    /**
+     * Sends elevator to the floor where it waits for calls, no one is waiting for it there
+     *
+     * @param elevator which is sent, it must have nothing to do
+     * @param floor    where elevator should wait
+     * @throws IllegalArgumentException if elevator does not stop on the floor
+     * @throws IllegalStateException    if elevator has people inside or destinations
+     * @see Elevator#park(int)
+     */
+    public void park(Elevator elevator, int floor) {
+        if (elevator.getCurrentFloor() == floor)
+            return;
+        if (journal != null)
+            journal.park(elevator, floor);
+        elevator.park(floor);
+        update(elevator);
+    }
+
+    /**
+     * Tells status publisher which elevators changed, called after every tick
+     *
+     * @see StatusPublisher
+     */
+    public void publishStatus() {
+        if (statusPublisher != null)
+            statusPublisher.publish(this);
+    }
+
+    /**
+     * Moves all elevators by one using many threads
+     *
+     * Elevators affect each other only through people waiting on the floor they reach,
+     * so first every elevator claims floor it will be on, and then elevators reaching different floors
+     * are moved in parallel, while elevators reaching the same floor are moved one after another in order of adding.
+     * Result is exactly the same as moving all elevators one after another.
+     */
+    private void advanceInParallel() {
+        //claiming floors which will be reached in this tick
+        if (arrivals.length < elevators.size()) {
+            arrivals = new long[elevators.size()];
+            groups = new int[elevators.size() + 1];
+        }
+        int claims = 0;
+        for (int i = 0; i < fleet.size(); i++) {
+            int next = fleet.getFloor(i);
+            if (fleet.isMoving(i))
+                next += fleet.getDirection(i) == Direction.UP ? 1 : -1;
+            arrivals[claims++] = ((long) next << 32) | i;
+        }
+        Arrays.sort(arrivals, 0, claims);
+
+        //elevators reaching the same floor make one group
+        int count = 0;
+        for (int i = 0; i < claims; i++) {
+            if (i == 0 || (arrivals[i] >> 32) != (arrivals[i - 1] >> 32))
+                groups[count++] = i;
+        }
+        groups[count] = claims;
+
+        //committing moves of all groups
+        long[] claimed = arrivals;
+        int[] starts = groups;
+        int groupCount = count;
+        long now = time;
+        for (ElevatorIndex index : indexes)
+            index.defer();
+        //journal collects changes of every elevator separately, so they are written in the same order as one after another
+        if (journal != null)
+            journal.beginParallel(elevators.size());
+        try {
+            pool.submit(() -> IntStream.range(0, groupCount).parallel().forEach(group -> {
+                for (int i = starts[group]; i < starts[group + 1]; i++)
+                    elevators.get((int) claimed[i]).moveByOne(peopleWaiting, now);
+            })).join();
+        } finally {
+            for (ElevatorIndex index : indexes)
+                index.commit();
+            if (journal != null)
+                journal.endParallel();
+        }
+        for (int i = 0; i < elevators.size(); i++)
+            people.refill(elevators.get(i).getPool());
+        redispatchPeopleLeftBehind();
+    }
+
+    /**
+     * Moves one elevator by one without printing anything, time does not pass
+     *
+     * @param number of the elevator, elevators are numbered from 0 in order of adding
+     * @see #setTime(long)
+     */
+    public void moveElevator(int number) {
+        if (journal != null)
+            journal.move(number);
+        Elevator elevator = elevators.get(number);
+        elevator.moveByOne(peopleWaiting, time);
+        update(elevator);
+        people.refill(elevator.getPool());
+        //elevators moved one by one do not wait for the end of a tick, people left behind are sent another elevator at once
+        if (fleet.hasLeftPeopleBehind(number))
+            redispatchPeopleLeftBehind(elevator);
+    }
+
+    /**
+     * Getter of elevator
+     *
+     * @param number of the elevator, elevators are numbered from 0 in order of adding
+     * @return elevator with given number
+     */
+    public Elevator getElevator(int number) {
+        return elevators.get(number);
+    }
+
+    /**
+     * Getter of fleet
+     *
+     * @return state of all elevators in parallel arrays, positions are numbers of elevators, it must not be changed
+     */
+    public Fleet getFleet() {
+        return fleet;
+    }
+
+    /**
+     * Counts elevators in the building
+     *
+     * @return number of elevators
+     */
+    public int countElevators() {
+        return elevators.size();
+    }
+
+    /**
+     * Setter of dispatch strategy
+     *
+     * @param dispatchStrategy rule choosing which elevator handles a new call
+     * @see NearestDispatch
+     * @see CostDispatch
+     */
+    public void setDispatchStrategy(DispatchStrategy dispatchStrategy) {
+        this.dispatchStrategy = dispatchStrategy;
+    }
+
+    /**
+     * Getter of dispatch strategy
+     *
+     * @return rule choosing which elevator handles a new call
+     */
+    public DispatchStrategy getDispatchStrategy() {
+        return dispatchStrategy;
+    }
+
+    /**
+     * Getter of indexes
+     *
+     * @return elevators indexed by floors and directions, one index for every set of served floors
+     */
+    List<ElevatorIndex> getIndexes() {
+        return indexes;
+    }
+
+    /**
+     * Getter of building
+     *
+     * @return shape of the building
+     */
+    public Building getBuilding() {
+        return building;
+    }
+
+    /**
+     * Getter of time
+     *
+     * @return current time in ticks
+     */
+    public long getTime() {
+        return time;
+    }
+
+    /**
+     * Setter of time, for systems whose elevators are moved one by one
+     *
+     * @param time current time in ticks
+     * @see #moveElevator(int)
+     */
+    public void setTime(long time) {
+        this.time = time;
+        if (journal != null)
+            journal.time(time);
+    }
+
+    /**
+     * Setter of passenger listener
+     *
+     * @param passengerListener to be told when people get in and out of any elevator, null to stop telling
+     * @see PassengerMetrics
+     */
+    public void setPassengerListener(PassengerListener passengerListener) {
+        this.passengerListener = passengerListener;
+        refreshListeners();
+    }
+
+    /**
+     * Setter of journal
+     *
+     * @param journal which writes every change, null to stop writing
+     * @see Journal#start(ElevatorSystem, java.nio.file.Path, int)
+     */
+    void setJournal(Journal journal) {
+        this.journal = journal;
+        refreshListeners();
+    }
+
+    /**
+     * Tells elevators and indexes who listens to them, journal is told first and then passes people to passenger listener
+     */
+    private void refreshListeners() {
+        if (journal != null)
+            journal.setNext(passengerListener);
+        for (int i = 0; i < indexes.size(); i++)
+            indexes.get(i).setNext(journal);
+        for (int i = 0; i < elevators.size(); i++)
+            elevators.get(i).setPassengerListener(journal != null ? journal : passengerListener);
+    }
+
+    /**
+     * Setter of status publisher
+     *
+     * @param statusPublisher to be told about elevators which changed after every tick, null to stop telling
+     */
+    public void setStatusPublisher(StatusPublisher statusPublisher) {
+        this.statusPublisher = statusPublisher;
+    }
+
+    /**
+     * Setter of parking policy, it is not saved in snapshots,
+     * but elevators it moves are written in the journal, so replay does not need it
+     *
+     * @param parkingPolicy which moves elevators with nothing to do after every tick, null to let them stay
+     * @see PredictiveParking
+     */
+    public void setParkingPolicy(ParkingPolicy parkingPolicy) {
+        this.parkingPolicy = parkingPolicy;
+    }
+
+    /**
+     * Getter of parking policy
+     *
+     * @return rule moving elevators which have nothing to do, null if there is none
+     */
+    public ParkingPolicy getParkingPolicy() {
+        return parkingPolicy;
+    }
+
+    /**
+     * Setter of pool
+     *
+     * @param pool which moves elevators in parallel when there are many of them,
+     *             null to move elevators one after another
+     * @see #advance()
+     */
+    public void setPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Checks whether system has nothing left to do
+     *
+     * @return true if no elevator is moving and no one is waiting
+     */
+    public boolean isIdle() {
+        for (int i = 0; i < fleet.size(); i++) {
+            if (fleet.isMoving(i))
+                return false;
+        }
+        return countPeopleWaiting() == 0;
+    }
+
+    /**
+     * Counts people waiting on all floors
+     *
+     * @return number of people waiting to be picked up
+     */
+    public int countPeopleWaiting() {
+        int count = 0;
+        for (int floor = 0; floor < peopleWaiting.size(); floor++)
+            count += peopleWaiting.get(floor).size();
+        return count;
+    }
+
+    /**
+     * Counts people inside all elevators
+     *
+     * @return number of people riding at the moment
+     */
+    public int countPeopleInside() {
+        int count = 0;
+        for (Elevator elevator : elevators)
+            count += elevator.getPeopleInside();
+        return count;
+    }
+
+    /**
+     * Counts people who already left elevators on their desired floors
+     *
+     * @return number of people delivered by all elevators
+     */
+    public long countPeopleDelivered() {
+        long count = 0;
+        for (Elevator elevator : elevators)
+            count += elevator.getPeopleDelivered();
+        return count;
+    }
+
+    /**
+     * Counts floors passed by all elevators, ex. as a measure of used energy
+     *
+     * @return number of floors travelled by all elevators
+     */
+    public long countFloorsTravelled() {
+        long count = 0;
+        for (int i = 0; i < fleet.size(); i++)
+            count += fleet.getFloorsTravelled(i);
+        return count;
+    }
+
+    /**
+     * Adds elevator to list of elevators
+     *
+     * @param elevator to be add
+     * @see #elevators
+     * @throws IllegalStateException if journal is being written
+     */
+    public void addElevator(Elevator elevator) {
+        if (journal != null)
+            throw new IllegalStateException("Elevators can not be added while journal is written");
+
+        BitSet servedFloors = elevator.getServedFloors();
+        ElevatorIndex index = null;
+        for (ElevatorIndex existing : indexes) {
+            if (existing.servesExactly(servedFloors))
+                index = existing;
+        }
+        if (index == null) {
+            index = new ElevatorIndex(servedFloors);
+            indexes.add(index);
+        }
+        int number = elevators.size();
+        if (number == indexOf.length) {
+            indexOf = Arrays.copyOf(indexOf, number * 2);
+            numberInIndex = Arrays.copyOf(numberInIndex, number * 2);
+        }
+        indexOf[number] = index;
+        numberInIndex[number] = index.add(elevator, number);
+        fleet.add(elevator);
+        elevators.add(elevator);
+        maxLoad = Math.max(maxLoad, elevator.getMaxLoad());
+        minLoad = Math.min(minLoad, elevator.getMaxLoad());
+        elevator.setPassengerListener(passengerListener);
+    }
+
+    /**
+     * Shows where people are waiting
+     *
+     * @see #peopleWaiting
+     */
+    public void whereArePeople() {
+        for (int i = 0; i < peopleWaiting.size(); i++) {
+            if (!peopleWaiting.get(i).isEmpty()) {
+                //checks whether function should print person or people
+                if (peopleWaiting.get(i).size() == 1)
+                    System.out.println("There is 1 person waiting on the floor " + i);
+                else
+                    System.out.println("There are " + peopleWaiting.get(i).size() + " people waiting on the floor " + i);
+            }
+        }
+    }
+}
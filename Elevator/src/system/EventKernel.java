@@ -0,0 +1,139 @@
+package system;
+
+import java.util.PriorityQueue;
+
+/**
+ * This is a class which runs the system from event to event instead of tick by tick
+ *
+ * Calls are scheduled for any future tick and kept in a priority queue ordered by tick.
+ * Time jumps straight to the earlier of the next call and the next event of elevators (stop or parking),
+ * ticks in between are not made one by one, because nothing but passing floors happens on them.
+ * Result is exactly the same as making all ticks and giving every call on its tick,
+ * but long quiet periods, like nights of multi-day runs, take almost no time.
+ *
+ * @see ElevatorSystem#advance(long)
+ */
+public class EventKernel {
+    private ElevatorSystem system; //system being run
+    private PriorityQueue<Call> calls; //calls which were not made yet, the earliest first
+    private long scheduled; //how many calls were scheduled, calls on the same tick are made in order of scheduling
+    private long rejected; //how many calls were not correct for the system
+
+    /**
+     * EventKernel constructor initializes variables
+     *
+     * @param system to be run, no one else should move its elevators while kernel runs it
+     */
+    public EventKernel(ElevatorSystem system) {
+        this.system = system;
+        calls = new PriorityQueue<>();
+    }
+
+    /**
+     * Schedules new call
+     *
+     * @param tick      on which person calls elevator, not earlier than current time of the system
+     * @param floor     represents floor where person is waiting
+     * @param direction represents how many floors person wants to go
+     */
+    public void call(long tick, int floor, int direction) {
+        if (tick < system.getTime())
+            throw new IllegalArgumentException("Call on the tick " + tick + " is in the past");
+        calls.add(new Call(tick, scheduled++, floor, direction));
+    }
+
+    /**
+     * Makes all calls scheduled up to given tick and moves elevators until then
+     *
+     * @param tick on which run stops, calls scheduled on it are made before stopping
+     */
+    public void runUntil(long tick) {
+        while (!calls.isEmpty() && calls.peek().tick <= tick) {
+            Call call = calls.poll();
+            system.advance(call.tick - system.getTime());
+            //call between floors without common elevator is not correct
+            try {
+                system.pickup(call.floor, call.direction);
+            } catch (IllegalArgumentException e) {
+                rejected++;
+            }
+        }
+        system.advance(tick - system.getTime());
+    }
+
+    /**
+     * Makes all scheduled calls and lets elevators work until everyone is delivered
+     *
+     * @param maxTicks how many ticks elevators can work after the last call
+     * @return true if system became idle, false if it still had work after given number of ticks
+     */
+    public boolean runUntilIdle(long maxTicks) {
+        long last = system.getTime();
+        for (Call call : calls)
+            last = Math.max(last, call.tick);
+        runUntil(last);
+
+        //system can become idle only on a tick with an event
+        long end = system.getTime() + maxTicks;
+        while (!system.isIdle() && system.getTime() < end)
+            system.advance(Math.min(system.nextEvent(), end) - system.getTime());
+        return system.isIdle();
+    }
+
+    /**
+     * Counts calls which were not made yet
+     *
+     * @return number of scheduled calls waiting for their ticks
+     */
+    public int countScheduled() {
+        return calls.size();
+    }
+
+    /**
+     * Getter of rejected
+     *
+     * @return how many calls were not correct for the system
+     */
+    public long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * Getter of system
+     *
+     * @return system being run
+     */
+    public ElevatorSystem getSystem() {
+        return system;
+    }
+
+    /**
+     * This is a class which represent one scheduled call
+     */
+    private static class Call implements Comparable<Call> {
+        final long tick; //tick on which person calls elevator
+        final long order; //number of the call in order of scheduling
+        final int floor; //floor where person is waiting
+        final int direction; //how many floors person wants to go
+
+        /**
+         * Call constructor initializes variables
+         *
+         * @param tick      on which person calls elevator
+         * @param order     number of the call in order of scheduling
+         * @param floor     where person is waiting
+         * @param direction how many floors person wants to go
+         */
+        Call(long tick, long order, int floor, int direction) {
+            this.tick = tick;
+            this.order = order;
+            this.floor = floor;
+            this.direction = direction;
+        }
+
+        @Override
+        public int compareTo(Call other) {
+            return tick != other.tick ? Long.compare(tick, other.tick) : Long.compare(order, other.order);
+        }
+    }
+}
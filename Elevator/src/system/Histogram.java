@@ -0,0 +1,143 @@
+package system;
+
+/**
+ * This is a class which counts how often values occur, so percentiles can be read without keeping every value
+ *
+ * Values are counted in buckets whose width grows with the value, like in HdrHistogram:
+ * every power of two is split into 32 buckets, so a percentile differs from the exact one by at most about 3%.
+ * Values below 64 are counted exactly. All buckets are allocated at once, recording allocates nothing.
+ */
+public class Histogram {
+    private static final int SUB_BUCKET_BITS = 5; //every power of two is split into 2^SUB_BUCKET_BITS buckets
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS; //number of buckets of one power of two
+
+    private long highest; //the highest value counted exactly as it is, higher values are counted as this one
+    private long[] counts; //how many values fell into every bucket
+    private long total; //how many values were recorded
+    private long max; //the highest value recorded
+    private long sum; //sum of all values recorded, negative values counted as 0
+
+    /**
+     * Histogram constructor initializes variables
+     *
+     * @param highest the highest value which is expected, higher values are counted as this one, but max is kept exact
+     */
+    public Histogram(long highest) {
+        if (highest < 1)
+            throw new IllegalArgumentException("The highest value must be at least 1");
+
+        this.highest = highest;
+        counts = new long[bucket(highest) + 1];
+    }
+
+    /**
+     * Counts new value
+     *
+     * @param value to be counted, negative values are counted as 0
+     */
+    void record(long value) {
+        long counted = Math.min(Math.max(value, 0), highest);
+        counts[bucket(counted)]++;
+        total++;
+        sum += Math.max(value, 0);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Adds all values of other histogram
+     *
+     * @param other histogram with the same highest value
+     */
+    void add(Histogram other) {
+        if (other.highest != highest)
+            throw new IllegalArgumentException("Histograms must have the same highest value");
+
+        for (int i = 0; i < counts.length; i++)
+            counts[i] += other.counts[i];
+        total += other.total;
+        sum += other.sum;
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Getter of count
+     *
+     * @return how many values were recorded
+     */
+    public long getCount() {
+        return total;
+    }
+
+    /**
+     * Getter of max
+     *
+     * @return the highest value recorded, 0 if nothing was recorded
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Counts mean of all values, values above the highest expected one are counted exactly
+     *
+     * @return mean value, 0 if nothing was recorded
+     */
+    public double getMean() {
+        return total == 0 ? 0 : (double) sum / total;
+    }
+
+    /**
+     * Finds value which was not exceeded by given percent of values
+     *
+     * @param percentile from 0 to 100, ex. 99 for p99
+     * @return the highest value of the bucket holding the percentile, never more than max, 0 if nothing was recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        long needed = Math.max((long) Math.ceil(total * percentile / 100), 1);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= needed)
+                return Math.min(highestInBucket(i), max);
+        }
+        return 0;
+    }
+
+    /**
+     * Finds bucket of the value
+     *
+     * @param value from 0 to highest
+     * @return index of the bucket
+     */
+    private static int bucket(long value) {
+        if (value < 2 * SUB_BUCKETS)
+            return (int) value;
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return SUB_BUCKETS * shift + (int) (value >>> shift);
+    }
+
+    /**
+     * Finds the highest value counted in the bucket
+     *
+     * @param bucket index of the bucket
+     * @return the highest value which falls into the bucket
+     */
+    private static long highestInBucket(int bucket) {
+        if (bucket < 2 * SUB_BUCKETS)
+            return bucket;
+        int shift = bucket / SUB_BUCKETS - 1;
+        long first = bucket - SUB_BUCKETS * shift;
+        return ((first + 1) << shift) - 1;
+    }
+
+    /**
+     * Prints count, percentiles and max
+     *
+     * @return string which has all of above
+     */
+    @Override
+    public String toString() {
+        return "count: " + total + ", p50: " + getValueAtPercentile(50) + ", p95: " + getValueAtPercentile(95)
+                + ", p99: " + getValueAtPercentile(99) + ", max: " + max;
+    }
+}
@@ -0,0 +1,420 @@
+package system;
+
+import domain.Elevator;
+import domain.ElevatorListener;
+import domain.PassengerListener;
+import domain.Person;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * This is a class which writes every change of the system to an append-only binary log
+ *
+ * Journal is started with a snapshot of the system, then every input (call, group of calls, ticks, move of one elevator,
+ * change of time, parked elevator) and every change made by the system (assigned elevator, added and removed stop,
+ * person getting in and out) is appended as a record. Ticks are counted and written as one record
+ * before the next input or the next force to the disk, so ticks without calls cost nothing and many ticks can be skipped at once.
+ * Records are collected in a buffer, which is handed to a writer thread when it is full, and forced to the disk
+ * once every given number of ticks, so many ticks share one write (group commit) and the tick never waits for the disk.
+ * Inputs are enough to rebuild the system, other records show what the system did with them.
+ *
+ * All elevators must be added before the journal starts. When elevators move in parallel, changes of every elevator
+ * are collected in its own lane and appended in order of elevators, so the journal is the same as if they moved one after another.
+ *
+ * @see Replay
+ */
+public class Journal implements ElevatorListener, PassengerListener, Closeable {
+    static final String SNAPSHOT = "snapshot.bin"; //name of the snapshot the journal starts from
+    static final String JOURNAL = "journal.bin"; //name of the journal
+    static final int MAGIC = 0x454C564A; //"ELVJ" at the beginning of every journal
+    static final short VERSION = 1; //version of the format written by this class
+
+    static final byte PICKUP = 1; //input: floor, direction, weight
+    static final byte GROUP = 2; //input: floor, elevator, number of people, desired floor and weight of everyone
+    static final byte MOVE = 3; //input: elevator moved by one
+    static final byte TIME = 4; //input: time as a long
+    static final byte ASSIGNED = 5; //output: elevator, floor
+    static final byte STOP_ADDED = 6; //output: elevator, floor
+    static final byte STOP_REMOVED = 7; //output: elevator, floor
+    static final byte BOARDED = 8; //output: elevator, floor, desired floor
+    static final byte LEFT = 9; //output: elevator, floor
+    static final byte PARK = 10; //input: elevator, floor
+    static final byte TICKS = 11; //input: all elevators moved by one so many times, number of ticks as a long
+
+    private ElevatorSystem system; //system being written
+    private FileChannel channel; //file of the journal
+    private ByteBuffer buffer; //records not handed to the writer yet
+    private ByteBuffer spare; //buffer being written by the writer, it is free when writing is done
+    private ExecutorService writer; //thread writing buffers and forcing them to the disk
+    private Future<?> writing; //the last buffer handed to the writer, null if nothing was handed yet
+    private int commitEveryTicks; //how many ticks share one force to the disk
+    private long ticksSinceCommit; //ticks made since the last force
+    private long ticks; //ticks made since the last input, not written yet
+    private ByteBuffer[] lanes; //changes of every elevator moved in parallel, grown to the number of elevators
+    private boolean parallel; //whether changes are collected in lanes because elevators move in parallel
+    private PassengerListener next; //listener told about people after the journal, null if there is none
+
+    /**
+     * Journal constructor initializes variables
+     *
+     * @param system           to be written
+     * @param channel          file of the journal
+     * @param commitEveryTicks how many ticks share one force to the disk
+     */
+    private Journal(ElevatorSystem system, FileChannel channel, int commitEveryTicks) {
+        this.system = system;
+        this.channel = channel;
+        this.commitEveryTicks = commitEveryTicks;
+        buffer = ByteBuffer.allocateDirect(1 << 16);
+        spare = ByteBuffer.allocateDirect(1 << 16);
+        writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "journal-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Saves snapshot of the system and starts writing every change of it
+     *
+     * @param system           to be written, it must not change while journal is started
+     * @param directory        where snapshot and journal are written, old ones are replaced
+     * @param commitEveryTicks how many ticks share one force to the disk, the more the faster
+     * @return started journal, it should be closed at the end
+     * @throws IOException if files can not be written
+     */
+    public static Journal start(ElevatorSystem system, Path directory, int commitEveryTicks) throws IOException {
+        if (commitEveryTicks < 1)
+            throw new IllegalArgumentException("Number of ticks must be at least 1");
+
+        Files.createDirectories(directory);
+        Snapshot.save(system, directory.resolve(SNAPSHOT));
+        FileChannel channel = FileChannel.open(directory.resolve(JOURNAL), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        Journal journal = new Journal(system, channel, commitEveryTicks);
+
+        byte[] strategy = system.getDispatchStrategy().getClass().getName().getBytes(StandardCharsets.UTF_8);
+        journal.buffer.putInt(MAGIC);
+        journal.buffer.putShort(VERSION);
+        journal.buffer.putShort((short) strategy.length);
+        journal.buffer.put(strategy);
+        system.setJournal(journal);
+        return journal;
+    }
+
+    /**
+     * Setter of next
+     *
+     * @param next listener told about people after the journal, null if there is none
+     */
+    void setNext(PassengerListener next) {
+        this.next = next;
+    }
+
+    /**
+     * Writes accepted call
+     *
+     * @param floor     represents floor where person is waiting
+     * @param direction represents how many floors person wants to go
+     * @param weight    weight of the person in kilograms
+     */
+    void pickup(int floor, int direction, int weight) {
+        writeTicks();
+        ensure(1 + 3 * Integer.BYTES);
+        buffer.put(PICKUP);
+        buffer.putInt(floor);
+        buffer.putInt(direction);
+        buffer.putInt(weight);
+    }
+
+    /**
+     * Writes group of people told to take given elevator
+     *
+     * @param floor         represents floor where people are waiting
+     * @param desiredFloors floors on which people want to go
+     * @param weights       weights of people in kilograms, in the same order as desiredFloors
+     * @param from          index of the first person of the group in desiredFloors
+     * @param to            index after the last person of the group in desiredFloors
+     * @param elevator      which takes the whole group
+     */
+    void group(int floor, int[] desiredFloors, int[] weights, int from, int to, Elevator elevator) {
+        writeTicks();
+        ensure(1 + (3 + 2 * (to - from)) * Integer.BYTES);
+        buffer.put(GROUP);
+        buffer.putInt(floor);
+        buffer.putInt(elevator.getSlot());
+        buffer.putInt(to - from);
+        for (int i = from; i < to; i++) {
+            buffer.putInt(desiredFloors[i]);
+            buffer.putInt(weights[i]);
+        }
+    }
+
+    /**
+     * Counts ticks of all elevators, they are written before the next input, every few ticks journal is forced to the disk
+     *
+     * @param ticks how many ticks were made
+     */
+    void advance(long ticks) {
+        this.ticks += ticks;
+        ticksSinceCommit += ticks;
+        if (ticksSinceCommit >= commitEveryTicks) {
+            //forced ticks are written, so replay after a crash reaches the committed tick
+            writeTicks();
+            handOff(true);
+        }
+    }
+
+    /**
+     * Writes move of one elevator
+     *
+     * @param number of the elevator
+     */
+    void move(int number) {
+        writeTicks();
+        ensure(1 + Integer.BYTES);
+        buffer.put(MOVE);
+        buffer.putInt(number);
+    }
+
+    /**
+     * Writes change of time, every few changes journal is forced to the disk
+     *
+     * @param time current time in ticks
+     */
+    void time(long time) {
+        writeTicks();
+        ensure(1 + Long.BYTES);
+        buffer.put(TIME);
+        buffer.putLong(time);
+        if (++ticksSinceCommit >= commitEveryTicks)
+            handOff(true);
+    }
+
+    /**
+     * Writes elevator sent by parking policy
+     *
+     * @param elevator which was sent
+     * @param floor    where elevator waits for calls
+     */
+    void park(Elevator elevator, int floor) {
+        writeTicks();
+        record(PARK, elevator, floor);
+    }
+
+    /**
+     * Writes elevator chosen for the call
+     *
+     * @param elevator which was chosen
+     * @param floor    where someone is waiting
+     */
+    void assigned(Elevator elevator, int floor) {
+        record(ASSIGNED, elevator, floor);
+    }
+
+    @Override
+    public void destinationAdded(Elevator elevator, int floor) {
+        record(STOP_ADDED, elevator, floor);
+    }
+
+    @Override
+    public void destinationRemoved(Elevator elevator, int floor) {
+        record(STOP_REMOVED, elevator, floor);
+    }
+
+    @Override
+    public void personBoarded(Elevator elevator, Person person) {
+        ByteBuffer out = reserve(elevator, 1 + 3 * Integer.BYTES);
+        out.put(BOARDED);
+        out.putInt(elevator.getSlot());
+        out.putInt(elevator.getCurrentFloor());
+        out.putInt(person.getDesiredFloor());
+        if (next != null)
+            next.personBoarded(elevator, person);
+    }
+
+    @Override
+    public void personLeft(Elevator elevator, Person person, long now) {
+        record(LEFT, elevator, elevator.getCurrentFloor());
+        if (next != null)
+            next.personLeft(elevator, person, now);
+    }
+
+    /**
+     * Starts collecting changes of every elevator in its own lane, called before elevators move in parallel
+     *
+     * @param elevators how many elevators move
+     * @see #endParallel()
+     */
+    void beginParallel(int elevators) {
+        if (lanes == null || lanes.length < elevators)
+            lanes = new ByteBuffer[elevators];
+        parallel = true;
+    }
+
+    /**
+     * Appends lanes of all elevators in their order, called after elevators moved in parallel
+     */
+    void endParallel() {
+        parallel = false;
+        for (ByteBuffer lane : lanes) {
+            if (lane == null || lane.position() == 0)
+                continue;
+            lane.flip();
+            ensure(lane.remaining());
+            buffer.put(lane);
+            lane.clear();
+        }
+    }
+
+    /**
+     * Writes all records and waits until they are forced to the disk
+     *
+     * @throws IOException if journal can not be written
+     */
+    public void commit() throws IOException {
+        writeTicks();
+        handOff(true);
+        awaitWriting();
+    }
+
+    /**
+     * Commits all records, closes the journal and stops writing changes of the system
+     *
+     * @throws IOException if journal can not be written
+     */
+    @Override
+    public void close() throws IOException {
+        system.setJournal(null);
+        try {
+            commit();
+        } finally {
+            writer.shutdown();
+            channel.close();
+        }
+    }
+
+    /**
+     * Writes record with elevator and floor
+     *
+     * @param type     of the record
+     * @param elevator which changed
+     * @param floor    of the change
+     */
+    private void record(byte type, Elevator elevator, int floor) {
+        ByteBuffer out = reserve(elevator, 1 + 2 * Integer.BYTES);
+        out.put(type);
+        out.putInt(elevator.getSlot());
+        out.putInt(floor);
+    }
+
+    /**
+     * Writes ticks counted since the last input, so the next input is replayed after them
+     */
+    private void writeTicks() {
+        if (ticks == 0)
+            return;
+        ensure(1 + Long.BYTES);
+        buffer.put(TICKS);
+        buffer.putLong(ticks);
+        ticks = 0;
+    }
+
+    /**
+     * Finds where change of the elevator is written
+     *
+     * @param elevator which changed
+     * @param bytes    size of the record
+     * @return lane of the elevator if elevators move in parallel, the main buffer otherwise
+     */
+    private ByteBuffer reserve(Elevator elevator, int bytes) {
+        if (!parallel) {
+            ensure(bytes);
+            return buffer;
+        }
+        //every lane is used only by the thread moving its elevator
+        ByteBuffer lane = lanes[elevator.getSlot()];
+        if (lane == null || lane.remaining() < bytes) {
+            ByteBuffer bigger = ByteBuffer.allocate(Math.max(256, lane == null ? bytes : lane.capacity() * 2 + bytes));
+            if (lane != null) {
+                lane.flip();
+                bigger.put(lane);
+            }
+            lane = bigger;
+            lanes[elevator.getSlot()] = lane;
+        }
+        return lane;
+    }
+
+    /**
+     * Makes room in the buffer, records which are there are written if needed
+     *
+     * @param bytes size of the next record
+     */
+    private void ensure(int bytes) {
+        if (buffer.remaining() >= bytes)
+            return;
+        handOff(false);
+        if (buffer.capacity() < bytes)
+            buffer = ByteBuffer.allocateDirect(Integer.highestOneBit(bytes) << 1);
+    }
+
+    /**
+     * Hands buffer to the writer thread and takes the spare one, waits only if the writer is still busy with the spare one
+     *
+     * @param force whether records should be forced to the disk after they are written
+     */
+    private void handOff(boolean force) {
+        try {
+            awaitWriting();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Journal can not be written", e);
+        }
+        spare.clear();
+        ByteBuffer full = buffer;
+        buffer = spare;
+        spare = full;
+        if (force)
+            ticksSinceCommit = 0;
+        full.flip();
+        writing = writer.submit(() -> {
+            while (full.hasRemaining())
+                channel.write(full);
+            if (force)
+                channel.force(false);
+            return null;
+        });
+    }
+
+    /**
+     * Waits until the writer wrote the last buffer handed to it
+     *
+     * @throws IOException if journal can not be written
+     */
+    private void awaitWriting() throws IOException {
+        if (writing == null)
+            return;
+        try {
+            writing.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while writing journal", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException("Journal can not be written", e.getCause());
+        } finally {
+            writing = null;
+        }
+    }
+}
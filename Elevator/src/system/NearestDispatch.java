@@ -0,0 +1,29 @@
+package system;
+
+import domain.Elevator;
+import enums.Direction;
+
+import java.util.List;
+
+/**
+ * This is a class which sends the nearest elevator going in the same direction
+ *
+ * Elevator standing on the called floor or having it in its queue is preferred,
+ * otherwise the nearest elevator going in the same direction or not active is sent.
+ *
+ * @see ElevatorIndex#findNearestElevatorWithSameDirection(int, Direction)
+ */
+public class NearestDispatch implements DispatchStrategy {
+    @Override
+    public Elevator choose(ElevatorSystem system, int floor, Direction direction, int desiredFloor) {
+        //every index keeps elevators serving the same floors, the best of indexes which can serve the call is chosen
+        long best = Long.MAX_VALUE;
+        List<ElevatorIndex> indexes = system.getIndexes();
+        for (int i = 0; i < indexes.size(); i++) {
+            ElevatorIndex index = indexes.get(i);
+            if (index.serves(floor) && index.serves(desiredFloor))
+                best = Math.min(best, index.findNearestElevatorWithSameDirection(floor, direction));
+        }
+        return system.getElevator(ElevatorIndex.number(best));
+    }
+}
@@ -0,0 +1,33 @@
+package system;
+
+/**
+ * This is an interface of rules moving elevators which have nothing to do
+ *
+ * @see ElevatorSystem#setParkingPolicy(ParkingPolicy)
+ */
+public interface ParkingPolicy {
+    /**
+     * Called for every accepted call, so policy can learn where people call elevators
+     *
+     * @param floor represents floor where person is waiting
+     * @param time  of the call in ticks
+     */
+    void called(int floor, long time);
+
+    /**
+     * Called after every tick, policy can send elevators which have nothing to do to other floors
+     *
+     * @param system whose elevators can be moved
+     * @see ElevatorSystem#park(domain.Elevator, int)
+     */
+    void park(ElevatorSystem system);
+
+    /**
+     * Tells on which tick policy may move elevators next, when many ticks pass at once park is not called on other ticks
+     *
+     * @param system whose elevators can be moved
+     * @return the earliest tick after the current time on which park may move elevators, Long.MAX_VALUE if none
+     * @see ElevatorSystem#advance(long)
+     */
+    long nextPark(ElevatorSystem system);
+}
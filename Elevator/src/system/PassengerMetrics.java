@@ -0,0 +1,162 @@
+package system;
+
+import domain.Elevator;
+import domain.PassengerListener;
+import domain.Person;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * This is a class which measures how long people wait for elevators and how long they ride
+ *
+ * Wait time is counted from the call to getting in, ride time from getting in to leaving, both in ticks.
+ * Times are counted per floor (wait times on the floor of the call, ride times on the desired floor)
+ * and per elevator, totals are made by adding histograms of all elevators when they are asked for.
+ * Every histogram is allocated at once, so measuring allocates nothing while elevators move.
+ * Histograms of a floor are changed only by elevators on this floor and histograms of an elevator only by this elevator,
+ * so elevators can be moved in parallel, but metrics should be read only between ticks.
+ */
+public class PassengerMetrics implements PassengerListener {
+    private static final int MAX_FLOORS = 256; //floors measured one by one in buildings without a limit of floors
+    private static final long HIGHEST_TIME = 1L << 24; //the highest time in ticks which is counted exactly
+
+    private Map<Elevator, Integer> numbers; //number of every measured elevator
+    private Histogram[] waitOnFloor; //wait times of people who called on every floor
+    private Histogram[] rideToFloor; //ride times of people who left on every floor
+    private Histogram[] waitForElevator; //wait times of people who got in every elevator
+    private Histogram[] rideInElevator; //ride times of people who left every elevator
+
+    /**
+     * PassengerMetrics constructor initializes variables and starts measuring the system,
+     * elevators added to the system later are not measured
+     *
+     * @param system to be measured
+     */
+    public PassengerMetrics(ElevatorSystem system) {
+        int floors = Math.min(system.getBuilding().getFloors(), MAX_FLOORS);
+        waitOnFloor = histograms(floors);
+        rideToFloor = histograms(floors);
+        waitForElevator = histograms(system.countElevators());
+        rideInElevator = histograms(system.countElevators());
+        numbers = new IdentityHashMap<>();
+        for (int i = 0; i < system.countElevators(); i++)
+            numbers.put(system.getElevator(i), i);
+        system.setPassengerListener(this);
+    }
+
+    @Override
+    public void personBoarded(Elevator elevator, Person person) {
+        Integer number = numbers.get(elevator);
+        if (number == null)
+            return;
+        long wait = person.getWaitTime();
+        waitForElevator[number].record(wait);
+        if (elevator.getCurrentFloor() < waitOnFloor.length)
+            waitOnFloor[elevator.getCurrentFloor()].record(wait);
+    }
+
+    @Override
+    public void personLeft(Elevator elevator, Person person, long now) {
+        Integer number = numbers.get(elevator);
+        if (number == null)
+            return;
+        long ride = now - person.getBoardedAt();
+        rideInElevator[number].record(ride);
+        if (elevator.getCurrentFloor() < rideToFloor.length)
+            rideToFloor[elevator.getCurrentFloor()].record(ride);
+    }
+
+    /**
+     * Getter of wait times
+     *
+     * @return new histogram of wait times of all people
+     */
+    public Histogram getWaitTimes() {
+        return sum(waitForElevator);
+    }
+
+    /**
+     * Getter of ride times
+     *
+     * @return new histogram of ride times of all people
+     */
+    public Histogram getRideTimes() {
+        return sum(rideInElevator);
+    }
+
+    /**
+     * Getter of wait times on the floor
+     *
+     * @param floor on which people called
+     * @return histogram of wait times of people who called on the floor, it must not be read while elevators move
+     */
+    public Histogram getWaitTimesOnFloor(int floor) {
+        return waitOnFloor[floor];
+    }
+
+    /**
+     * Getter of ride times to the floor
+     *
+     * @param floor on which people left
+     * @return histogram of ride times of people who left on the floor, it must not be read while elevators move
+     */
+    public Histogram getRideTimesToFloor(int floor) {
+        return rideToFloor[floor];
+    }
+
+    /**
+     * Getter of wait times for the elevator
+     *
+     * @param number of the elevator, elevators are numbered from 0 in order of adding
+     * @return histogram of wait times of people who got in the elevator, it must not be read while elevators move
+     */
+    public Histogram getWaitTimesForElevator(int number) {
+        return waitForElevator[number];
+    }
+
+    /**
+     * Getter of ride times in the elevator
+     *
+     * @param number of the elevator, elevators are numbered from 0 in order of adding
+     * @return histogram of ride times of people who left the elevator, it must not be read while elevators move
+     */
+    public Histogram getRideTimesInElevator(int number) {
+        return rideInElevator[number];
+    }
+
+    /**
+     * Getter of number of measured floors
+     *
+     * @return how many floors are measured one by one, counting from 0
+     */
+    public int countFloors() {
+        return waitOnFloor.length;
+    }
+
+    /**
+     * Creates empty histograms
+     *
+     * @param count how many histograms are needed
+     * @return array of empty histograms
+     */
+    private static Histogram[] histograms(int count) {
+        Histogram[] histograms = new Histogram[count];
+        for (int i = 0; i < count; i++)
+            histograms[i] = new Histogram(HIGHEST_TIME);
+        return histograms;
+    }
+
+    /**
+     * Adds histograms together
+     *
+     * @param histograms to be added
+     * @return new histogram with values of all histograms
+     */
+    private static Histogram sum(Histogram[] histograms) {
+        Histogram sum = new Histogram(HIGHEST_TIME);
+        for (Histogram histogram : histograms)
+            sum.add(histogram);
+        return sum;
+    }
+}
@@ -0,0 +1,250 @@
+package system;
+
+import domain.Elevator;
+import domain.Fleet;
+
+import java.util.Arrays;
+
+/**
+ * This is a class which sends elevators with nothing to do to floors where calls are expected soon
+ *
+ * Every call is counted by a demand model, which knows how many calls every floor had at every time of day.
+ * Once every few ticks demand of the current and the next slot is read for every floor, and idle elevators
+ * are shared between floors greedily: every next elevator goes to the floor with the highest square root of demand
+ * per elevator already given to it, so the busiest floor gets most elevators but quieter floors are not left without any,
+ * which gives shorter waits than sharing elevators in proportion to demand.
+ * Elevators already standing on a chosen floor stay there, others are sent from the nearest idle elevators.
+ * Floors with demand below the minimum get no elevator, so in quiet times elevators do not move at all.
+ * Work is proportional to idle elevators times floors and nothing is allocated after the arrays grew.
+ *
+ * @see DemandModel
+ */
+public class PredictiveParking implements ParkingPolicy {
+    private static final int EVERY_TICKS = 8; //how often idle elevators are checked
+
+    private DemandModel model; //calls learned so far
+    private double minDemand; //the smallest expected number of calls for which elevator is sent to the floor
+    private double[] demand; //expected calls of every floor in the current and the next slot
+    private int[] given; //how many idle elevators were given to every floor
+    private int[] idle; //numbers of idle elevators
+    private int[] targets; //floors given to idle elevators, the most wanted first
+    private boolean[] placed; //whether idle elevator on the same position already has its floor
+    private long parked; //how many times elevators were sent to other floors
+    private long settledUntil; //tick until which nothing is sent unless calls are made or idle elevators change, -1 if not known
+    private int settledCount; //how many elevators were idle on the last check which sent nothing
+    private int[] settledIdle; //numbers of elevators idle on the last check which sent nothing
+    private int[] settledFloors; //floors of these elevators
+
+    /**
+     * PredictiveParking constructor initializes variables
+     *
+     * @param ticksPerDay length of one day in ticks
+     * @param slots       number of slots of one day, ex. 96 for slots of 15 minutes
+     * @param decay       what part of calls of older days is kept after every day, from 0 to 1
+     * @param minDemand   the smallest expected number of calls in two slots for which elevator is sent to the floor
+     */
+    public PredictiveParking(long ticksPerDay, int slots, double decay, double minDemand) {
+        if (!(minDemand > 0))
+            throw new IllegalArgumentException("Minimal demand must be above 0: " + minDemand);
+
+        model = new DemandModel(ticksPerDay, slots, decay);
+        this.minDemand = minDemand;
+        demand = new double[0];
+        given = new int[0];
+        idle = new int[0];
+        targets = new int[0];
+        placed = new boolean[0];
+        settledUntil = -1;
+        settledIdle = new int[0];
+        settledFloors = new int[0];
+    }
+
+    @Override
+    public void called(int floor, long time) {
+        model.record(floor, time);
+        settledUntil = -1;
+    }
+
+    @Override
+    public void park(ElevatorSystem system) {
+        long now = system.getTime();
+        if (now % EVERY_TICKS != 0)
+            return;
+
+        int idleCount = findIdle(system);
+        if (idleCount == 0)
+            return;
+        if (send(system, now, idleCount) > 0)
+            settledUntil = -1;
+        else
+            settle(system, now, idleCount);
+    }
+
+    /**
+     * Shares idle elevators between floors and sends them there
+     *
+     * @param system    whose elevators are moved
+     * @param now       current time in ticks
+     * @param idleCount number of idle elevators, their numbers are at the beginning of idle
+     * @return how many elevators were sent
+     */
+    private int send(ElevatorSystem system, long now, int idleCount) {
+        int floors = Math.min(system.getBuilding().getFloors(), model.countFloors());
+        if (demand.length < floors) {
+            demand = new double[floors];
+            given = new int[floors];
+        }
+        boolean anyDemand = false;
+        for (int floor = 0; floor < floors; floor++) {
+            demand[floor] = model.predict(floor, now) + model.predict(floor, now + model.getSlotTicks());
+            given[floor] = 0;
+            anyDemand |= demand[floor] >= minDemand;
+        }
+        if (!anyDemand)
+            return 0;
+
+        //every next elevator goes to the floor with the highest square root of demand per elevator
+        int targetCount = 0;
+        for (int i = 0; i < idleCount; i++) {
+            int best = -1;
+            double bestShare = 0;
+            for (int floor = 0; floor < floors; floor++) {
+                if (demand[floor] < minDemand)
+                    continue;
+                double share = Math.sqrt(demand[floor]) / (1 + given[floor]);
+                if (share > bestShare) {
+                    bestShare = share;
+                    best = floor;
+                }
+            }
+            given[best]++;
+            targets[targetCount++] = best;
+        }
+
+        //elevators already standing on chosen floors stay there
+        Arrays.fill(placed, 0, idleCount, false);
+        for (int i = 0; i < idleCount; i++) {
+            int floor = system.getElevator(idle[i]).getCurrentFloor();
+            if (floor < floors && given[floor] > 0) {
+                given[floor]--;
+                placed[i] = true;
+            }
+        }
+
+        //the rest of chosen floors get the nearest idle elevators which stop there
+        int sent = 0;
+        for (int t = 0; t < targetCount; t++) {
+            int floor = targets[t];
+            if (given[floor] == 0)
+                continue;
+            given[floor]--;
+            int nearest = -1;
+            for (int i = 0; i < idleCount; i++) {
+                Elevator elevator = system.getElevator(idle[i]);
+                if (placed[i] || !elevator.serves(floor))
+                    continue;
+                if (nearest == -1 || Math.abs(elevator.getCurrentFloor() - floor)
+                        < Math.abs(system.getElevator(idle[nearest]).getCurrentFloor() - floor))
+                    nearest = i;
+            }
+            if (nearest == -1)
+                continue;
+            placed[nearest] = true;
+            system.park(system.getElevator(idle[nearest]), floor);
+            sent++;
+        }
+        parked += sent;
+        return sent;
+    }
+
+    /**
+     * Remembers check which sent nothing, the same check gives the same result until predictions or idle elevators change
+     *
+     * @param system    whose elevators were checked
+     * @param now       current time in ticks
+     * @param idleCount number of idle elevators, their numbers are at the beginning of idle
+     */
+    private void settle(ElevatorSystem system, long now, int idleCount) {
+        long slotTicks = model.getSlotTicks();
+        settledUntil = Math.min(model.nextSlot(now), model.nextSlot(now + slotTicks) - slotTicks);
+        if (settledIdle.length < idleCount) {
+            settledIdle = new int[idle.length];
+            settledFloors = new int[idle.length];
+        }
+        settledCount = idleCount;
+        for (int i = 0; i < idleCount; i++) {
+            settledIdle[i] = idle[i];
+            settledFloors[i] = system.getElevator(idle[i]).getCurrentFloor();
+        }
+    }
+
+    /**
+     * Checks whether the same elevators are idle on the same floors as on the last check which sent nothing
+     *
+     * @param system    whose elevators are checked
+     * @param idleCount number of idle elevators, their numbers are at the beginning of idle
+     * @return true if nothing changed
+     */
+    private boolean isSettled(ElevatorSystem system, int idleCount) {
+        if (idleCount != settledCount)
+            return false;
+        for (int i = 0; i < idleCount; i++) {
+            if (idle[i] != settledIdle[i] || system.getElevator(idle[i]).getCurrentFloor() != settledFloors[i])
+                return false;
+        }
+        return true;
+    }
+
+    @Override
+    public long nextPark(ElevatorSystem system) {
+        //only idle elevators are parked, elevators become idle on their stops, which are events anyway
+        int idleCount = findIdle(system);
+        if (idleCount == 0)
+            return Long.MAX_VALUE;
+        long next = (system.getTime() / EVERY_TICKS + 1) * EVERY_TICKS;
+        //check which sent nothing gives the same result until the slot changes
+        if (next < settledUntil && isSettled(system, idleCount))
+            next = (settledUntil + EVERY_TICKS - 1) / EVERY_TICKS * EVERY_TICKS;
+        return next;
+    }
+
+    /**
+     * Getter of parked
+     *
+     * @return how many times elevators were sent to other floors
+     */
+    public long getParked() {
+        return parked;
+    }
+
+    /**
+     * Getter of model
+     *
+     * @return calls learned so far
+     */
+    public DemandModel getModel() {
+        return model;
+    }
+
+    /**
+     * Finds elevators with nothing to do
+     *
+     * @param system whose elevators are checked
+     * @return number of idle elevators, their numbers are put at the beginning of idle
+     */
+    private int findIdle(ElevatorSystem system) {
+        int elevators = system.countElevators();
+        if (idle.length < elevators) {
+            idle = new int[elevators];
+            targets = new int[elevators];
+            placed = new boolean[elevators];
+        }
+        Fleet fleet = system.getFleet();
+        int count = 0;
+        for (int i = 0; i < elevators; i++) {
+            if (!fleet.isMoving(i) && fleet.getPeopleInside(i) == 0)
+                idle[count++] = i;
+        }
+        return count;
+    }
+}
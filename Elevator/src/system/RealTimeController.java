@@ -0,0 +1,231 @@
+package system;
+
+import domain.Elevator;
+import enums.Direction;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This is a class which runs the system in real time
+ *
+ * System is ticked at a fixed rate by one thread, which is the only thread changing the system.
+ * On every tick calls are taken from the intake and every elevator whose time has come moves by one floor,
+ * so how fast elevators go depends on {@link Timing}, not on how often the system is ticked.
+ * Every connected client is served on its own thread of the client executor.
+ * An exception thrown by a tick would silently cancel all next ticks, so it is caught and counted instead,
+ * and the next tick runs as usual. Ticks, failures and jitter can be read from any thread while the system is ticked.
+ */
+public class RealTimeController {
+    private static final int BATCH = 4096; //the biggest number of calls taken from the intake on one tick
+    private static final int JITTER_BUCKETS = 10_000; //histogram of jitter has buckets of 10 microseconds up to 100 ms
+
+    private ElevatorSystem system; //system to control elevators
+    private CallIntake intake; //calls waiting to be passed to the system
+    private Timing timing; //how long elevators need to move and to stop
+    private long periodNanos; //time between ticks
+    private ExecutorService clients; //executor running connected clients
+    private ScheduledExecutorService ticker; //thread ticking the system
+    private long[] readyAt; //time when every elevator reaches its next floor, Long.MIN_VALUE if it is not active
+    private long start; //time of the first tick, later ticks are expected every period after it
+    private volatile long ticks; //how many ticks were made, changed only by the ticking thread
+    private AtomicLongArray jitter; //histogram of delays of ticks
+    private volatile long maxJitterNanos; //the biggest delay of a tick, changed only by the ticking thread
+    private AtomicLong failedTicks; //how many ticks threw an exception
+    private volatile RuntimeException lastFailure; //exception thrown by the last failed tick, null if no tick failed
+
+    /**
+     * RealTimeController constructor initializes variables
+     *
+     * @param system       to be controlled, no other thread can change it after start
+     * @param intake       which accepts calls from clients
+     * @param timing       how long elevators need to move and to stop
+     * @param periodMillis time between ticks in milliseconds
+     * @param clients      executor running connected clients, ex. Executors.newVirtualThreadPerTaskExecutor() on Java 21
+     */
+    public RealTimeController(ElevatorSystem system, CallIntake intake, Timing timing, long periodMillis, ExecutorService clients) {
+        if (periodMillis < 1)
+            throw new IllegalArgumentException("Period must be at least 1 ms");
+
+        this.system = system;
+        this.intake = intake;
+        this.timing = timing;
+        this.clients = clients;
+        periodNanos = TimeUnit.MILLISECONDS.toNanos(periodMillis);
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "elevator-ticker");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MAX_PRIORITY);
+            return thread;
+        });
+        readyAt = new long[0];
+        jitter = new AtomicLongArray(JITTER_BUCKETS + 1);
+        failedTicks = new AtomicLong();
+    }
+
+    /**
+     * Starts ticking the system, all elevators must be added before
+     */
+    public void start() {
+        readyAt = new long[system.countElevators()];
+        Arrays.fill(readyAt, Long.MIN_VALUE);
+        ticker.scheduleAtFixedRate(this::tick, periodNanos, periodNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Stops ticking the system and disconnects all clients
+     *
+     * @throws InterruptedException  if waiting for the last tick is interrupted
+     * @throws IllegalStateException if the last tick did not end, so the system can still be changed by the ticker
+     */
+    public void stop() throws InterruptedException {
+        ticker.shutdown();
+        clients.shutdownNow();
+        if (!ticker.awaitTermination(1, TimeUnit.SECONDS)) {
+            //tick running too long is interrupted, and given one more chance to end
+            ticker.shutdownNow();
+            if (!ticker.awaitTermination(1, TimeUnit.SECONDS))
+                throw new IllegalStateException("Ticker did not stop");
+        }
+    }
+
+    /**
+     * Connects new client, it is served on its own thread until it disconnects or controller is stopped
+     *
+     * @param client to be connected
+     */
+    public void connect(CallClient client) {
+        clients.execute(() -> {
+            try {
+                client.serve(intake);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    /**
+     * Takes waiting calls and moves elevators whose time has come, exception of the tick is counted and kept
+     */
+    private void tick() {
+        long now = System.nanoTime();
+        //ticks are planned from the moment the ticker started, which is known only on the first tick
+        if (ticks == 0)
+            start = now;
+        recordJitter(now - (start + ticks * periodNanos));
+        ticks++;
+        try {
+            moveElevators(now);
+        } catch (RuntimeException e) {
+            failedTicks.incrementAndGet();
+            lastFailure = e;
+        }
+    }
+
+    /**
+     * Takes waiting calls and moves elevators whose time has come
+     *
+     * @param now time of the tick
+     */
+    private void moveElevators(long now) {
+        //time of the system is counted in ticks of the controller
+        system.setTime(ticks);
+        intake.drainTo(system, BATCH);
+
+        for (int i = 0; i < readyAt.length; i++) {
+            Elevator elevator = system.getElevator(i);
+            if (elevator.getDirection() == Direction.STAY) {
+                readyAt[i] = Long.MIN_VALUE;
+                continue;
+            }
+            //elevator got destination while it was not active
+            if (readyAt[i] == Long.MIN_VALUE) {
+                readyAt[i] = now + timing.departure();
+                continue;
+            }
+            if (readyAt[i] > now)
+                continue;
+
+            int inside = elevator.getPeopleInside();
+            long delivered = elevator.getPeopleDelivered();
+            system.moveElevator(i);
+            boolean stopped = inside != elevator.getPeopleInside() || delivered != elevator.getPeopleDelivered();
+            readyAt[i] = elevator.getDirection() == Direction.STAY ? Long.MIN_VALUE : readyAt[i] + timing.nextFloor(stopped);
+        }
+        system.parkIdleElevators();
+        system.publishStatus();
+    }
+
+    /**
+     * Adds delay of a tick to the histogram
+     *
+     * @param delayNanos how late the tick started
+     */
+    private void recordJitter(long delayNanos) {
+        int bucket = (int) Math.min(Math.max(delayNanos, 0) / 10_000, JITTER_BUCKETS);
+        jitter.incrementAndGet(bucket);
+        if (delayNanos > maxJitterNanos)
+            maxJitterNanos = delayNanos;
+    }
+
+    /**
+     * Getter of tick jitter, while controller is running the result is approximate
+     *
+     * @param percentile from 0 to 100, ex. 99 for p99
+     * @return delay of ticks in microseconds which was not exceeded by given percent of ticks
+     */
+    public long getTickJitterMicros(double percentile) {
+        long total = 0;
+        for (int bucket = 0; bucket < jitter.length(); bucket++)
+            total += jitter.get(bucket);
+        long needed = (long) Math.ceil(total * percentile / 100);
+        long seen = 0;
+        for (int bucket = 0; bucket < jitter.length(); bucket++) {
+            seen += jitter.get(bucket);
+            if (seen >= needed && seen > 0)
+                return (bucket + 1) * 10L;
+        }
+        return 0;
+    }
+
+    /**
+     * Getter of the biggest tick jitter
+     *
+     * @return the biggest delay of a tick in microseconds
+     */
+    public long getMaxTickJitterMicros() {
+        return maxJitterNanos / 1000;
+    }
+
+    /**
+     * Getter of ticks
+     *
+     * @return how many ticks were made
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Getter of failed ticks
+     *
+     * @return how many ticks threw an exception, ticking went on after every one of them
+     */
+    public long getFailedTicks() {
+        return failedTicks.get();
+    }
+
+    /**
+     * Getter of last failure
+     *
+     * @return exception thrown by the last failed tick, null if no tick failed
+     */
+    public RuntimeException getLastFailure() {
+        return lastFailure;
+    }
+}
@@ -0,0 +1,313 @@
+package system;
+
+import domain.Elevator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * This is a class which rebuilds the system from a journal tick by tick
+ *
+ * System is restored from the snapshot the journal starts from, and then all inputs of the journal are given to it
+ * in the same order. System is deterministic, so with the same dispatch strategy it ends in exactly the same state.
+ * Replayed system can write its own journal, comparing both journals shows whether and on which tick
+ * the replay went differently, ex. when another dispatch strategy is tried on the same recorded calls.
+ * Elevators sent by a parking policy are recorded as inputs too, so replayed system needs no parking policy.
+ * With another dispatch strategy the recorded elevator may be busy when it was parked, then this parking is skipped.
+ *
+ * @see Journal
+ */
+public final class Replay {
+    private Replay() {
+    }
+
+    /**
+     * Rebuilds the system from the journal
+     *
+     * @param directory        where snapshot and journal were written
+     * @param dispatchStrategy rule choosing elevators during replay, null to use the recorded one
+     * @param ticks            after how many ticks replay stops, Long.MAX_VALUE to replay the whole journal
+     * @param output           where replayed system writes its own journal, null if it should not be written
+     * @return rebuilt system
+     * @throws IOException if files can not be read or written or they are broken
+     * @see #compare(Path, Path)
+     */
+    public static ElevatorSystem replay(Path directory, DispatchStrategy dispatchStrategy, long ticks, Path output) throws IOException {
+        ElevatorSystem system = Snapshot.load(directory.resolve(Journal.SNAPSHOT));
+        try (Reader reader = new Reader(directory.resolve(Journal.JOURNAL))) {
+            system.setDispatchStrategy(dispatchStrategy != null ? dispatchStrategy : reader.strategy());
+            Journal journal = output != null ? Journal.start(system, output, Integer.MAX_VALUE) : null;
+            try {
+                long ticksDone = 0;
+                while (reader.next()) {
+                    long[] values = reader.values;
+                    switch (reader.type) {
+                        case Journal.PICKUP:
+                            system.pickup((int) values[0], (int) values[1], (int) values[2]);
+                            break;
+                        case Journal.GROUP:
+                            int[] desiredFloors = new int[(int) values[2]];
+                            int[] weights = new int[desiredFloors.length];
+                            for (int i = 0; i < desiredFloors.length; i++) {
+                                desiredFloors[i] = (int) values[3 + 2 * i];
+                                weights[i] = (int) values[4 + 2 * i];
+                            }
+                            system.pickupGroup((int) values[0], desiredFloors, weights, 0, desiredFloors.length, system.getElevator((int) values[1]));
+                            break;
+                        case Journal.TICKS:
+                            if (ticksDone == ticks)
+                                return system;
+                            //ticks without inputs between them are made at once, the result is the same as one by one
+                            long made = Math.min(values[0], ticks - ticksDone);
+                            system.advance(made);
+                            ticksDone += made;
+                            if (made < values[0])
+                                return system;
+                            break;
+                        case Journal.MOVE:
+                            system.moveElevator((int) values[0]);
+                            break;
+                        case Journal.PARK:
+                            //elevator parked in the recorded run can have calls of another dispatch strategy
+                            Elevator parked = system.getElevator((int) values[0]);
+                            if (parked.canPark())
+                                system.park(parked, (int) values[1]);
+                            break;
+                        case Journal.TIME:
+                            if (ticksDone == ticks)
+                                return system;
+                            system.setTime(values[0]);
+                            ticksDone++;
+                            break;
+                        default:
+                            //changes made by the system are made again by the replayed system
+                    }
+                }
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                throw new IOException("Journal is broken: " + directory, e);
+            } finally {
+                if (journal != null)
+                    journal.close();
+            }
+        }
+        return system;
+    }
+
+    /**
+     * Compares two journals record by record
+     *
+     * Ticks are written before inputs and before forces to the disk, so journals committed every different number of ticks
+     * split them into different records. Records of ticks are only counted, and every input must come after the same number of ticks.
+     * @param directory where the first journal was written
+     * @param other     where the second journal was written
+     * @return number of ticks made before the first different record, -1 if journals are the same
+     * @throws IOException if journals can not be read or they are broken
+     */
+    public static long compare(Path directory, Path other) throws IOException {
+        try (Reader first = new Reader(directory.resolve(Journal.JOURNAL));
+             Reader second = new Reader(other.resolve(Journal.JOURNAL))) {
+            long times = 0;
+            while (true) {
+                boolean firstHasNext = first.nextChange();
+                boolean secondHasNext = second.nextChange();
+                long ticks = times + Math.min(first.ticks, second.ticks);
+                if (!firstHasNext && !secondHasNext)
+                    return first.ticks == second.ticks ? -1 : ticks;
+                if (firstHasNext != secondHasNext || first.type != second.type || first.count != second.count
+                        || !Arrays.equals(Arrays.copyOf(first.values, first.count), Arrays.copyOf(second.values, second.count)))
+                    return ticks;
+                if (isInput(first.type) && first.ticks != second.ticks)
+                    return ticks;
+                if (first.type == Journal.TIME)
+                    times++;
+            }
+        }
+    }
+
+    /**
+     * Checks whether record is an input given to the system
+     *
+     * @param type of the record
+     * @return true if the record is replayed, false if it is a change made by the system
+     */
+    private static boolean isInput(byte type) {
+        return type == Journal.PICKUP || type == Journal.GROUP || type == Journal.MOVE || type == Journal.TIME
+                || type == Journal.PARK;
+    }
+
+    /**
+     * This is a class which reads records of a journal one by one
+     */
+    private static class Reader implements Closeable {
+        private FileChannel channel; //file of the journal
+        private ByteBuffer buffer; //bytes read from the file and not used yet
+        private String strategy; //name of the class of the recorded dispatch strategy
+        byte type; //type of the last record
+        long[] values; //values of the last record
+        int count; //number of values of the last record
+        long ticks; //ticks of all records of ticks read by nextChange()
+
+        /**
+         * Reader constructor opens journal and reads its header
+         *
+         * @param file of the journal
+         * @throws IOException if file can not be read or it is not a journal
+         */
+        Reader(Path file) throws IOException {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+            buffer = ByteBuffer.allocateDirect(1 << 16);
+            buffer.flip();
+            values = new long[16];
+            try {
+                if (!fill(Integer.BYTES + 2 * Short.BYTES) || buffer.getInt() != Journal.MAGIC)
+                    throw new IOException("File is not a journal: " + file);
+                short version = buffer.getShort();
+                if (version != Journal.VERSION)
+                    throw new IOException("Unknown version of journal: " + version);
+                byte[] name = new byte[buffer.getShort()];
+                if (!fill(name.length))
+                    throw new IOException("Journal is broken: " + file);
+                buffer.get(name);
+                strategy = new String(name, StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        /**
+         * Creates recorded dispatch strategy
+         *
+         * @return new strategy of the recorded class
+         * @throws IOException if the class is not known
+         */
+        DispatchStrategy strategy() throws IOException {
+            try {
+                return Class.forName(strategy).asSubclass(DispatchStrategy.class).getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | ClassCastException e) {
+                throw new IOException("Unknown dispatch strategy: " + strategy, e);
+            }
+        }
+
+        /**
+         * Reads next record
+         *
+         * @return true if record was read, false at the end of the journal
+         * @throws IOException if file can not be read or the last record is cut
+         */
+        boolean next() throws IOException {
+            if (!fill(1))
+                return false;
+            type = buffer.get();
+            switch (type) {
+                case Journal.MOVE:
+                    readInts(1);
+                    break;
+                case Journal.TIME:
+                case Journal.TICKS:
+                    need(Long.BYTES);
+                    values[0] = buffer.getLong();
+                    count = 1;
+                    break;
+                case Journal.BOARDED:
+                    readInts(3);
+                    break;
+                case Journal.GROUP:
+                    readInts(3);
+                    int people = (int) values[2];
+                    if (people < 0)
+                        throw new IOException("Journal is broken, group of " + people + " people");
+                    if (values.length < 3 + 2 * people)
+                        values = Arrays.copyOf(values, 3 + 2 * people);
+                    for (int i = 0; i < people; i++) {
+                        need(2 * Integer.BYTES);
+                        values[3 + 2 * i] = buffer.getInt();
+                        values[4 + 2 * i] = buffer.getInt();
+                    }
+                    count = 3 + 2 * people;
+                    break;
+                case Journal.PICKUP:
+                    readInts(3);
+                    break;
+                case Journal.ASSIGNED:
+                case Journal.STOP_ADDED:
+                case Journal.STOP_REMOVED:
+                case Journal.LEFT:
+                case Journal.PARK:
+                    readInts(2);
+                    break;
+                default:
+                    throw new IOException("Unknown record in journal: " + type);
+            }
+            return true;
+        }
+
+        /**
+         * Reads next record which is not a record of ticks, ticks read on the way are counted
+         *
+         * @return true if record was read, false at the end of the journal
+         * @throws IOException if file can not be read or the last record is cut
+         */
+        boolean nextChange() throws IOException {
+            while (next()) {
+                if (type != Journal.TICKS)
+                    return true;
+                ticks += values[0];
+            }
+            return false;
+        }
+
+        /**
+         * Reads values of the record which are ints
+         *
+         * @param ints how many ints the record has
+         * @throws IOException if file can not be read or the record is cut
+         */
+        private void readInts(int ints) throws IOException {
+            need(ints * Integer.BYTES);
+            for (int i = 0; i < ints; i++)
+                values[i] = buffer.getInt();
+            count = ints;
+        }
+
+        /**
+         * Makes sure that given number of bytes can be read
+         *
+         * @param bytes how many bytes are needed
+         * @throws IOException if file can not be read or it ends too early
+         */
+        private void need(int bytes) throws IOException {
+            if (!fill(bytes))
+                throw new IOException("Journal ends in the middle of a record");
+        }
+
+        /**
+         * Reads more bytes from the file if there are not enough of them
+         *
+         * @param bytes how many bytes are needed
+         * @return true if there are enough bytes
+         * @throws IOException if file can not be read
+         */
+        private boolean fill(int bytes) throws IOException {
+            if (buffer.remaining() >= bytes)
+                return true;
+            buffer.compact();
+            while (buffer.position() < bytes && channel.read(buffer) >= 0) {
+                //read until there are enough bytes or the file ends
+            }
+            buffer.flip();
+            return buffer.remaining() >= bytes;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
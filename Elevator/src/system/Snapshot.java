@@ -0,0 +1,383 @@
+package system;
+
+import domain.Building;
+import domain.Elevator;
+import domain.Person;
+import enums.Direction;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This is a class which saves state of the system to a binary file and restores it, so restart loses nothing
+ *
+ * Saved are time, building, every elevator with its position, direction, queue and people inside,
+ * and people waiting on every floor with elevators they were told to take.
+ * Dispatch strategy, pool and listeners are not saved, they should be set again after restoring.
+ * File is written through a memory-mapped buffer to a temporary file which then replaces the old one,
+ * so a crash while saving never leaves a broken snapshot. Every count, floor and direction is checked while loading,
+ * so a corrupt file is rejected with IOException before anything is allocated for it.
+ *
+ * Format (version 1, big-endian):
+ * magic, version, time, floors, lobbies, number of elevators, then for every elevator:
+ * ID, capacity, max load, served floors (-1 if every floor), current floor, direction, people delivered, floors travelled,
+ * queue of destinations, destinations visited while going down,
+ * parking floor (-1 if elevator is not parking), people inside (desired floor, weight, assigned elevator, time of call, time of boarding),
+ * and at the end floors with people waiting, every person as inside but without time of boarding.
+ * Bit sets are saved as number of words and words, lists as their size and elements.
+ */
+public final class Snapshot {
+    private static final int MAGIC = 0x454C5653; //"ELVS" at the beginning of every snapshot
+    private static final short VERSION = 1; //version of the format written by this class
+    private static final int WAITING_BYTES = 3 * Integer.BYTES + Long.BYTES; //size of a waiting person
+    private static final int RIDING_BYTES = WAITING_BYTES + Long.BYTES; //size of a person inside
+    private static final int ELEVATOR_BYTES = 7 * Integer.BYTES + Byte.BYTES + 2 * Long.BYTES; //the smallest size of an elevator
+    private static final int FLOOR_BYTES = 2 * Integer.BYTES; //size of a floor with people waiting, without people
+
+    private Snapshot() {
+    }
+
+    /**
+     * Saves state of the system, elevators must not move while saving
+     *
+     * @param system to be saved
+     * @param file   where snapshot is written, old snapshot is replaced
+     * @throws IOException if file can not be written
+     */
+    public static void save(ElevatorSystem system, Path file) throws IOException {
+        Map<Elevator, Integer> numbers = new IdentityHashMap<>();
+        for (int i = 0; i < system.countElevators(); i++)
+            numbers.put(system.getElevator(i), i);
+
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size(system));
+            buffer.putInt(MAGIC);
+            buffer.putShort(VERSION);
+            buffer.putLong(system.getTime());
+            buffer.putInt(system.getBuilding().getFloors());
+            putBitSet(buffer, system.getBuilding().getLobbies());
+
+            buffer.putInt(system.countElevators());
+            for (int i = 0; i < system.countElevators(); i++)
+                putElevator(buffer, system.getElevator(i), numbers);
+
+            List<List<Person>> peopleWaiting = system.getPeopleWaiting();
+            buffer.putInt(countNotEmpty(peopleWaiting));
+            for (int floor = 0; floor < peopleWaiting.size(); floor++) {
+                List<Person> waiting = peopleWaiting.get(floor);
+                if (waiting.isEmpty())
+                    continue;
+                buffer.putInt(floor);
+                buffer.putInt(waiting.size());
+                for (Person person : waiting)
+                    putPerson(buffer, person, numbers);
+            }
+            buffer.force();
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Restores system saved before
+     *
+     * @param file where snapshot was written
+     * @return new system in the saved state, with nearest dispatch
+     * @throws IOException if file can not be read or it is not a correct snapshot
+     */
+    public static ElevatorSystem load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < Integer.BYTES + Short.BYTES || buffer.getInt() != MAGIC)
+                throw new IOException("File is not a snapshot: " + file);
+            short version = buffer.getShort();
+            if (version != VERSION)
+                throw new IOException("Unknown version of snapshot: " + version);
+
+            try {
+                return read(buffer);
+            } catch (BufferUnderflowException | IllegalArgumentException | IllegalStateException e) {
+                throw new IOException("Corrupt snapshot: " + file, e);
+            }
+        }
+    }
+
+    /**
+     * Reads system from the buffer, placed after the version
+     *
+     * @param buffer with snapshot
+     * @return new system in the saved state
+     * @throws IOException if numbers read from the buffer can not be correct
+     */
+    private static ElevatorSystem read(ByteBuffer buffer) throws IOException {
+        long time = buffer.getLong();
+        Building building = new Building(buffer.getInt());
+        BitSet lobbies = getBitSet(buffer);
+        for (int floor = lobbies.nextSetBit(0); floor >= 0; floor = lobbies.nextSetBit(floor + 1))
+            building.addLobby(floor);
+
+        ElevatorSystem system = new ElevatorSystem(building);
+        system.setTime(time);
+        Direction[] directions = Direction.values();
+        int elevators = getCount(buffer, ELEVATOR_BYTES, "elevators");
+        Elevator[] restored = new Elevator[elevators];
+        int[][] assignedInside = new int[elevators][];
+        Person[][] inside = new Person[elevators][];
+        //elevators are read first, people inside may be assigned to elevators which are read later
+        for (int i = 0; i < elevators; i++) {
+            int ID = buffer.getInt();
+            int capacity = buffer.getInt();
+            int maxLoad = buffer.getInt();
+            restored[i] = new Elevator(ID, capacity, maxLoad, getBitSet(buffer));
+            int currentFloor = getFloor(buffer, building, "current floor");
+            byte ordinal = buffer.get();
+            if (ordinal < 0 || ordinal >= directions.length)
+                throw new IOException("Corrupt snapshot, there is no direction " + ordinal);
+            Direction direction = directions[ordinal];
+            long peopleDelivered = buffer.getLong();
+            long floorsTravelled = buffer.getLong();
+            int[] destinations = new int[getCount(buffer, Integer.BYTES, "destinations")];
+            for (int j = 0; j < destinations.length; j++)
+                destinations[j] = getFloor(buffer, building, "destination");
+            BitSet goingDown = getBitSet(buffer);
+            if (goingDown == null)
+                throw new IOException("Corrupt snapshot, destinations visited while going down are missing");
+            int parkingFloor = buffer.getInt();
+            if (parkingFloor != -1 && !building.hasFloor(parkingFloor))
+                throw new IOException("Corrupt snapshot, parking floor " + parkingFloor + " is not in the building");
+            restored[i].restore(currentFloor, direction, destinations, goingDown, parkingFloor, peopleDelivered, floorsTravelled);
+
+            int people = getCount(buffer, RIDING_BYTES, "people inside");
+            inside[i] = new Person[people];
+            assignedInside[i] = new int[people];
+            for (int j = 0; j < people; j++) {
+                inside[i][j] = new Person(getFloor(buffer, building, "desired floor"), buffer.getInt());
+                assignedInside[i][j] = buffer.getInt();
+                inside[i][j].setCalledAt(buffer.getLong());
+                restored[i].addPerson(inside[i][j], buffer.getLong());
+            }
+        }
+        for (int i = 0; i < elevators; i++) {
+            for (int j = 0; j < inside[i].length; j++)
+                inside[i][j].setAssigned(elevator(restored, assignedInside[i][j]));
+            system.addElevator(restored[i]);
+        }
+
+        int floors = getCount(buffer, FLOOR_BYTES, "floors with people waiting");
+        for (int i = 0; i < floors; i++) {
+            int floor = getFloor(buffer, building, "floor with people waiting");
+            int people = getCount(buffer, WAITING_BYTES, "people waiting");
+            for (int j = 0; j < people; j++) {
+                Person person = new Person(getFloor(buffer, building, "desired floor"), buffer.getInt());
+                person.setAssigned(elevator(restored, buffer.getInt()));
+                person.setCalledAt(buffer.getLong());
+                system.restoreWaiting(floor, person);
+            }
+        }
+        return system;
+    }
+
+    /**
+     * Counts size of the snapshot
+     *
+     * @param system to be saved
+     * @return exact number of bytes of the snapshot
+     */
+    private static long size(ElevatorSystem system) {
+        long size = Integer.BYTES + Short.BYTES + Long.BYTES + Integer.BYTES
+                + bitSetSize(system.getBuilding().getLobbies()) + Integer.BYTES;
+        for (int i = 0; i < system.countElevators(); i++) {
+            Elevator elevator = system.getElevator(i);
+            size += 3 * Integer.BYTES + bitSetSize(elevator.getServedFloors()) + Integer.BYTES + Byte.BYTES + 2 * Long.BYTES
+                    + Integer.BYTES + (long) elevator.getDestination().size() * Integer.BYTES + bitSetSize(goingDown(elevator))
+                    + Integer.BYTES + Integer.BYTES + (long) elevator.getPeopleInside() * RIDING_BYTES;
+        }
+        size += Integer.BYTES;
+        List<List<Person>> peopleWaiting = system.getPeopleWaiting();
+        for (List<Person> waiting : peopleWaiting) {
+            if (!waiting.isEmpty())
+                size += 2 * Integer.BYTES + (long) waiting.size() * WAITING_BYTES;
+        }
+        return size;
+    }
+
+    /**
+     * Writes elevator with people inside
+     *
+     * @param buffer   where elevator is written
+     * @param elevator to be written
+     * @param numbers  number of every elevator in the system
+     */
+    private static void putElevator(ByteBuffer buffer, Elevator elevator, Map<Elevator, Integer> numbers) {
+        buffer.putInt(elevator.getID());
+        buffer.putInt(elevator.getCapacity());
+        buffer.putInt(elevator.getMaxLoad());
+        putBitSet(buffer, elevator.getServedFloors());
+        buffer.putInt(elevator.getCurrentFloor());
+        buffer.put((byte) elevator.getDirection().ordinal());
+        buffer.putLong(elevator.getPeopleDelivered());
+        buffer.putLong(elevator.getFloorsTravelled());
+        buffer.putInt(elevator.getDestination().size());
+        for (int i = 0; i < elevator.getDestination().size(); i++)
+            buffer.putInt(elevator.getDestination().get(i));
+        putBitSet(buffer, goingDown(elevator));
+        buffer.putInt(elevator.getParkingFloor());
+
+        buffer.putInt(elevator.getPeopleInside());
+        for (int floor = 0; floor < elevator.getFloorsOfPeople(); floor++) {
+            for (Person person : elevator.getPeopleGoingTo(floor)) {
+                putPerson(buffer, person, numbers);
+                buffer.putLong(person.getBoardedAt());
+            }
+        }
+    }
+
+    /**
+     * Collects destinations visited while going down
+     *
+     * @param elevator whose destinations are collected
+     * @return bit set of such destinations
+     */
+    private static BitSet goingDown(Elevator elevator) {
+        BitSet goingDown = new BitSet();
+        for (int i = 0; i < elevator.getDestination().size(); i++) {
+            int floor = elevator.getDestination().get(i);
+            if (elevator.getDestination().isGoingDown(floor))
+                goingDown.set(floor);
+        }
+        return goingDown;
+    }
+
+    /**
+     * Writes person without time of boarding
+     *
+     * @param buffer  where person is written
+     * @param person  to be written
+     * @param numbers number of every elevator in the system
+     */
+    private static void putPerson(ByteBuffer buffer, Person person, Map<Elevator, Integer> numbers) {
+        buffer.putInt(person.getDesiredFloor());
+        buffer.putInt(person.getWeight());
+        buffer.putInt(person.getAssigned() == null ? -1 : numbers.get(person.getAssigned()));
+        buffer.putLong(person.getCalledAt());
+    }
+
+    /**
+     * Writes bit set
+     *
+     * @param buffer where bit set is written
+     * @param bits   to be written, null is written as -1
+     */
+    private static void putBitSet(ByteBuffer buffer, BitSet bits) {
+        if (bits == null) {
+            buffer.putInt(-1);
+            return;
+        }
+        long[] words = bits.toLongArray();
+        buffer.putInt(words.length);
+        for (long word : words)
+            buffer.putLong(word);
+    }
+
+    /**
+     * Reads bit set
+     *
+     * @param buffer from which bit set is read
+     * @return bit set which was written, null if null was written
+     * @throws IOException if number of words is wrong
+     */
+    private static BitSet getBitSet(ByteBuffer buffer) throws IOException {
+        int length = buffer.getInt();
+        if (length == -1)
+            return null;
+        if (length < 0 || (long) length * Long.BYTES > buffer.remaining())
+            throw new IOException("Corrupt snapshot, " + length + " words of bit set do not fit in " + buffer.remaining() + " bytes");
+        long[] words = new long[length];
+        for (int i = 0; i < words.length; i++)
+            words[i] = buffer.getLong();
+        return BitSet.valueOf(words);
+    }
+
+    /**
+     * Reads number of elements of a list and checks that so many elements fit in the rest of the buffer
+     *
+     * @param buffer       from which number is read
+     * @param elementBytes the smallest size of one element
+     * @param name         of elements, told in the message
+     * @return number of elements
+     * @throws IOException if number is negative or elements do not fit in the rest of the buffer
+     */
+    private static int getCount(ByteBuffer buffer, int elementBytes, String name) throws IOException {
+        int count = buffer.getInt();
+        if (count < 0 || (long) count * elementBytes > buffer.remaining())
+            throw new IOException("Corrupt snapshot, " + count + " " + name + " do not fit in " + buffer.remaining() + " bytes");
+        return count;
+    }
+
+    /**
+     * Reads floor and checks that it is in the building
+     *
+     * @param buffer   from which floor is read
+     * @param building where floor must be
+     * @param name     of the floor, told in the message
+     * @return floor which was written
+     * @throws IOException if floor is not in the building
+     */
+    private static int getFloor(ByteBuffer buffer, Building building, String name) throws IOException {
+        int floor = buffer.getInt();
+        if (!building.hasFloor(floor))
+            throw new IOException("Corrupt snapshot, " + name + " " + floor + " is not in the building");
+        return floor;
+    }
+
+    /**
+     * Counts size of bit set
+     *
+     * @param bits to be written, can be null
+     * @return number of bytes of written bit set
+     */
+    private static long bitSetSize(BitSet bits) {
+        return Integer.BYTES + (bits == null ? 0 : (long) bits.toLongArray().length * Long.BYTES);
+    }
+
+    /**
+     * Counts floors on which someone is waiting
+     *
+     * @param peopleWaiting lists of people waiting on positions of their floors
+     * @return number of not empty lists
+     */
+    private static int countNotEmpty(List<List<Person>> peopleWaiting) {
+        int count = 0;
+        for (List<Person> waiting : peopleWaiting) {
+            if (!waiting.isEmpty())
+                count++;
+        }
+        return count;
+    }
+
+    /**
+     * Finds elevator by its number
+     *
+     * @param elevators restored elevators
+     * @param number    of the elevator, -1 for no elevator
+     * @return elevator with given number, null for -1
+     * @throws IOException if there is no such elevator
+     */
+    private static Elevator elevator(Elevator[] elevators, int number) throws IOException {
+        if (number < -1 || number >= elevators.length)
+            throw new IOException("Corrupt snapshot, there is no elevator " + number);
+        return number == -1 ? null : elevators[number];
+    }
+}
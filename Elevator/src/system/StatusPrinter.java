@@ -0,0 +1,33 @@
+package system;
+
+import enums.Direction;
+
+import java.io.PrintStream;
+
+/**
+ * This is a class which prints changes of elevators, one line for every elevator which changed
+ */
+public class StatusPrinter implements StatusSubscriber {
+    private PrintStream out; //stream where changes are printed
+
+    /**
+     * StatusPrinter constructor initializes variables
+     *
+     * @param out stream where changes are printed, ex. System.out
+     */
+    public StatusPrinter(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void statusChanged(long time, int number, int ID, int floor, Direction direction, int nextStop, int stops, int peopleInside) {
+        out.println("ID: " + ID + ", current floor: " + floor + ", direction: " + direction
+                + (nextStop < 0 ? ", no destinations" : ", next stop: " + nextStop + " of " + stops)
+                + ", people inside: " + peopleInside);
+    }
+
+    @Override
+    public void changesLost(long count) {
+        out.println(count + " changes of elevators were lost, status of all elevators comes next");
+    }
+}
@@ -0,0 +1,180 @@
+package system;
+
+import domain.Destinations;
+import domain.Elevator;
+import enums.Direction;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This is a class which tells subscribers how elevators change, instead of printing all of them on every step
+ *
+ * After every tick only elevators whose floor, direction or queue changed are published,
+ * every change as a few longs in one slot of a bounded ring buffer shared by all subscribers.
+ * Thread ticking the system only writes to the buffer and never waits for anyone,
+ * every subscriber reads it from its own thread at its own pace.
+ * Subscriber which is so slow that its changes were overwritten is told how many it lost,
+ * and status of every elevator is published again on the next tick, so it never stays out of date.
+ * Ring buffer should be larger than number of elevators, so status of every elevator fits in it at once.
+ */
+public class StatusPublisher {
+    private static final int WORDS = 5; //longs of one change: time, number and ID, floor and direction, next stop and stops, people inside
+    private static final Direction[] DIRECTIONS = Direction.values(); //directions by their ordinals
+
+    private final AtomicLongArray changes; //published changes, every slot has WORDS longs
+    private final AtomicLongArray sequences; //position of the change in every slot plus 1, 0 while slot is written
+    private final int mask; //number of slots - 1
+    private final AtomicLong published; //how many changes were published
+    private volatile boolean fullRequested; //whether every elevator should be published on the next tick
+    private long written; //how many changes were written, used only by the thread ticking the system
+    private int[] floors; //last published floor of every elevator, -1 if elevator was not published yet
+    private Direction[] directions; //last published direction of every elevator
+    private long[] queueChanges; //number of changes of queue of every elevator when it was last published
+
+    /**
+     * StatusPublisher constructor initializes variables
+     *
+     * @param capacity how many changes fit in the ring buffer, rounded up to a power of two
+     */
+    public StatusPublisher(int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("Capacity must be at least 1");
+
+        int slots = CallIntake.powerOfTwo(capacity);
+        changes = new AtomicLongArray(slots * WORDS);
+        sequences = new AtomicLongArray(slots);
+        mask = slots - 1;
+        published = new AtomicLong();
+        floors = new int[0];
+        directions = new Direction[0];
+        queueChanges = new long[0];
+    }
+
+    /**
+     * Adds new subscriber, can be called from any thread
+     *
+     * @param subscriber to be told about changes
+     * @return subscription from which subscriber reads changes, status of every elevator comes first
+     */
+    public Subscription subscribe(StatusSubscriber subscriber) {
+        Subscription subscription = new Subscription(subscriber, published.get());
+        fullRequested = true;
+        return subscription;
+    }
+
+    /**
+     * Publishes elevators which changed since the last tick, called by the thread ticking the system
+     *
+     * @param system whose elevators are published
+     */
+    void publish(ElevatorSystem system) {
+        int count = system.countElevators();
+        if (floors.length < count) {
+            int old = floors.length;
+            floors = Arrays.copyOf(floors, count);
+            directions = Arrays.copyOf(directions, count);
+            queueChanges = Arrays.copyOf(queueChanges, count);
+            Arrays.fill(floors, old, count, -1);
+        }
+        boolean full = fullRequested;
+        if (full)
+            fullRequested = false;
+
+        long time = system.getTime();
+        long position = written;
+        for (int i = 0; i < count; i++) {
+            Elevator elevator = system.getElevator(i);
+            Destinations destinations = elevator.getDestination();
+            if (!full && floors[i] == elevator.getCurrentFloor() && directions[i] == elevator.getDirection()
+                    && queueChanges[i] == destinations.getChanges())
+                continue;
+
+            floors[i] = elevator.getCurrentFloor();
+            directions[i] = elevator.getDirection();
+            queueChanges[i] = destinations.getChanges();
+            int slot = (int) position & mask;
+            int word = slot * WORDS;
+            //slot is marked as being written first, so subscriber reading it at the same time notices
+            sequences.set(slot, 0);
+            changes.lazySet(word, time);
+            changes.lazySet(word + 1, ((long) i << 32) | (elevator.getID() & 0xFFFFFFFFL));
+            changes.lazySet(word + 2, ((long) elevator.getCurrentFloor() << 32) | elevator.getDirection().ordinal());
+            int nextStop = destinations.isEmpty() ? -1 : destinations.first();
+            changes.lazySet(word + 3, ((long) nextStop << 32) | destinations.size());
+            changes.lazySet(word + 4, elevator.getPeopleInside());
+            sequences.lazySet(slot, ++position);
+        }
+        if (position != written) {
+            written = position;
+            published.lazySet(position);
+        }
+    }
+
+    /**
+     * This is a class which represent one subscriber reading changes from the ring buffer
+     *
+     * Subscription can be read only by one thread at once.
+     */
+    public class Subscription {
+        private StatusSubscriber subscriber; //subscriber told about changes
+        private long next; //position of the next change to be read
+
+        /**
+         * Subscription constructor initializes variables
+         *
+         * @param subscriber to be told about changes
+         * @param next       position of the first change to be read
+         */
+        private Subscription(StatusSubscriber subscriber, long next) {
+            this.subscriber = subscriber;
+            this.next = next;
+        }
+
+        /**
+         * Tells subscriber about changes published since the last poll, never waits for new changes
+         *
+         * @param max the biggest number of changes read at once
+         * @return how many changes subscriber was told about
+         */
+        public int poll(int max) {
+            long end = published.get();
+            if (end - next > mask + 1)
+                lose(end);
+
+            int read = 0;
+            while (next < end && read < max) {
+                int slot = (int) next & mask;
+                int word = slot * WORDS;
+                long time = changes.get(word);
+                long elevator = changes.get(word + 1);
+                long position = changes.get(word + 2);
+                long queue = changes.get(word + 3);
+                long peopleInside = changes.get(word + 4);
+                //publisher overwrote the slot while it was read
+                if (sequences.get(slot) != next + 1) {
+                    end = published.get();
+                    lose(end);
+                    continue;
+                }
+                subscriber.statusChanged(time, (int) (elevator >> 32), (int) elevator, (int) (position >> 32),
+                        DIRECTIONS[(int) position], (int) (queue >> 32), (int) queue, (int) peopleInside);
+                next++;
+                read++;
+            }
+            return read;
+        }
+
+        /**
+         * Skips changes which were overwritten and asks for status of every elevator
+         *
+         * @param end position up to which changes are skipped
+         */
+        private void lose(long end) {
+            subscriber.changesLost(end - next);
+            next = end;
+            fullRequested = true;
+        }
+    }
+}
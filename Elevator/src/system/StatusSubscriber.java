@@ -0,0 +1,32 @@
+package system;
+
+import enums.Direction;
+
+/**
+ * This is an interface of objects which want to know how elevators change
+ *
+ * @see StatusPublisher#subscribe(StatusSubscriber)
+ */
+public interface StatusSubscriber {
+    /**
+     * Called for every elevator whose floor, direction or queue changed
+     *
+     * @param time         tick after which elevator was seen
+     * @param number       of the elevator, elevators are numbered from 0 in order of adding
+     * @param ID           unique number of the elevator
+     * @param floor        current floor of the elevator
+     * @param direction    direction of the elevator
+     * @param nextStop     next floor to visit, -1 if queue is empty
+     * @param stops        how many floors are in the queue
+     * @param peopleInside how many people are in the elevator
+     */
+    void statusChanged(long time, int number, int ID, int floor, Direction direction, int nextStop, int stops, int peopleInside);
+
+    /**
+     * Called when subscriber was too slow and some changes were overwritten before it read them,
+     * status of every elevator is published again soon after
+     *
+     * @param count how many changes were lost
+     */
+    void changesLost(long count);
+}
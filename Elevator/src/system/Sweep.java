@@ -0,0 +1,411 @@
+package system;
+
+import domain.Building;
+import domain.Elevator;
+import domain.Person;
+import enums.Traffic;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * This is a class which runs many simulations with different parameters and writes their results to a CSV file,
+ * ex. to choose how many elevators a new building needs
+ *
+ * Every combination of number of elevators, capacity, dispatch strategy and kind of traffic is one configuration,
+ * and every configuration is run once for every seed. Every run builds its own system and traffic generator,
+ * so runs share no state and need no locks. Runs are tasks of a ForkJoinPool, so idle threads steal runs
+ * of other configurations and all cores are busy until the last configuration.
+ * Results of all seeds of a configuration are added together into one line, lines are written in order
+ * of configurations as soon as they are ready, so a long sweep can be read while it is still running.
+ */
+public class Sweep {
+    private static final long MAX_DRAIN_TICKS = 1_000_000; //how many ticks elevators can work after the last call
+    private static final int WINDOW = 5; //ticks of collecting calls of destination dispatch
+    private static final int MAX_STOPS = 4; //stops of one elevator in a batch of destination dispatch
+    private static final long HIGHEST_TIME = 1L << 24; //the highest time in ticks which is counted exactly
+    private static final String HEADER = "elevators,capacity,strategy,traffic,runs,calls,delivered,not_delivered,"
+            + "wait_mean,wait_mean_stddev,wait_p50,wait_p95,wait_p99,wait_max,ride_mean,ride_p95,"
+            + "delivered_per_1000_ticks,floors_travelled,floors_per_person";
+
+    private int floors; //how many floors buildings have
+    private double callsPerTick; //mean number of calls on one tick
+    private long ticks; //how many ticks calls are made
+    private int[] elevators = {4, 8, 16}; //numbers of elevators which are tried
+    private int[] capacities = {8}; //capacities which are tried, 0 if any number of people fits
+    private String[] strategies = {"nearest", "cost"}; //dispatch strategies which are tried
+    private Traffic[] traffics = Traffic.values(); //kinds of traffic which are tried
+    private int[][] zones = {}; //the lowest and the highest floor of every zone, empty if elevators serve every floor
+    private long firstSeed = 42; //seed of the first run of every configuration
+    private int seeds = 8; //how many runs every configuration has, every one with the next seed
+    private ForkJoinPool pool = ForkJoinPool.commonPool(); //pool running simulations
+
+    /**
+     * Sweep constructor initializes variables
+     *
+     * @param floors       how many floors buildings have
+     * @param callsPerTick mean number of calls on one tick
+     * @param ticks        how many ticks calls are made, then elevators deliver everyone who is left
+     */
+    public Sweep(int floors, double callsPerTick, long ticks) {
+        if (floors < 2)
+            throw new IllegalArgumentException("Building must have at least 2 floors");
+        if (!(callsPerTick >= 0) || Double.isInfinite(callsPerTick))
+            throw new IllegalArgumentException("Wrong number of calls per tick: " + callsPerTick);
+        if (ticks < 1)
+            throw new IllegalArgumentException("Number of ticks must be at least 1");
+
+        this.floors = floors;
+        this.callsPerTick = callsPerTick;
+        this.ticks = ticks;
+    }
+
+    /**
+     * Setter of elevators
+     *
+     * @param elevators numbers of elevators which are tried
+     */
+    public void setElevators(int... elevators) {
+        if (elevators.length == 0)
+            throw new IllegalArgumentException("At least one number of elevators must be tried");
+        for (int count : elevators) {
+            if (count < 1)
+                throw new IllegalArgumentException("Number of elevators must be at least 1");
+        }
+        this.elevators = elevators.clone();
+    }
+
+    /**
+     * Setter of capacities
+     *
+     * @param capacities how many people fit in one elevator, 0 if any number of people fits
+     */
+    public void setCapacities(int... capacities) {
+        if (capacities.length == 0)
+            throw new IllegalArgumentException("At least one capacity must be tried");
+        for (int capacity : capacities) {
+            if (capacity < 0)
+                throw new IllegalArgumentException("Capacity must not be negative");
+        }
+        this.capacities = capacities.clone();
+    }
+
+    /**
+     * Setter of strategies
+     *
+     * @param strategies "nearest", "cost", or "destination" when calls are collected and assigned in batches
+     */
+    public void setStrategies(String... strategies) {
+        if (strategies.length == 0)
+            throw new IllegalArgumentException("At least one strategy must be tried");
+        for (String strategy : strategies) {
+            if (!strategy.equals("nearest") && !strategy.equals("cost") && !strategy.equals("destination"))
+                throw new IllegalArgumentException("There is no strategy " + strategy);
+        }
+        this.strategies = strategies.clone();
+    }
+
+    /**
+     * Setter of traffics
+     *
+     * @param traffics kinds of traffic which are tried
+     */
+    public void setTraffics(Traffic... traffics) {
+        if (traffics.length == 0)
+            throw new IllegalArgumentException("At least one kind of traffic must be tried");
+        this.traffics = traffics.clone();
+    }
+
+    /**
+     * Setter of zones, elevators of every building are given zones in turn
+     *
+     * @param zones the lowest and the highest floor of every zone, none if elevators serve every floor
+     * @see Building#zone(int[][], int)
+     */
+    public void setZones(int[]... zones) {
+        Building building = new Building(floors);
+        int[][] copy = new int[zones.length][];
+        for (int i = 0; i < zones.length; i++) {
+            building.zone(zones, i);
+            copy[i] = zones[i].clone();
+        }
+        this.zones = copy;
+    }
+
+    /**
+     * Setter of seeds
+     *
+     * @param firstSeed seed of the first run of every configuration
+     * @param seeds     how many runs every configuration has, every one with the next seed
+     */
+    public void setSeeds(long firstSeed, int seeds) {
+        if (seeds < 1)
+            throw new IllegalArgumentException("Every configuration must have at least 1 run");
+
+        this.firstSeed = firstSeed;
+        this.seeds = seeds;
+    }
+
+    /**
+     * Setter of pool
+     *
+     * @param pool which runs simulations, common pool by default
+     */
+    public void setPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Counts configurations
+     *
+     * @return how many lines are written
+     */
+    public int countConfigurations() {
+        return elevators.length * capacities.length * strategies.length * traffics.length;
+    }
+
+    /**
+     * Runs every configuration with every seed and writes one line of results for every configuration
+     *
+     * @param output path to the CSV file, it is replaced
+     * @return how many simulations were run
+     * @throws IOException if file can not be written
+     */
+    public long run(Path output) throws IOException {
+        //every configuration is submitted at once, so threads never wait for the writer
+        List<ForkJoinTask<Result>> results = new ArrayList<>(countConfigurations());
+        for (int count : elevators) {
+            for (int capacity : capacities) {
+                for (String strategy : strategies) {
+                    for (Traffic traffic : traffics)
+                        results.add(pool.submit(new Configuration(count, capacity, strategy, traffic)));
+                }
+            }
+        }
+
+        try (BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.US_ASCII)) {
+            writer.write(HEADER);
+            writer.newLine();
+            for (int i = 0; i < results.size(); i++) {
+                writer.write(results.get(i).join().toString());
+                writer.newLine();
+                writer.flush();
+                //finished results are not kept, so memory does not grow with the number of configurations
+                results.set(i, null);
+            }
+        } finally {
+            for (ForkJoinTask<Result> result : results) {
+                if (result != null)
+                    result.cancel(false);
+            }
+        }
+        return (long) countConfigurations() * seeds;
+    }
+
+    /**
+     * Runs a single simulation
+     *
+     * @param count    how many elevators are in the building
+     * @param capacity how many people fit in one elevator, 0 if any number of people fits
+     * @param strategy name of dispatch strategy
+     * @param traffic  kind of traffic
+     * @param seed     seed of the traffic
+     * @return results of the simulation
+     */
+    Result simulate(int count, int capacity, String strategy, Traffic traffic, long seed) {
+        Building building = new Building(floors);
+        ElevatorSystem system = new ElevatorSystem(building);
+        system.setDispatchStrategy(strategy.equals("cost") ? new CostDispatch() : new NearestDispatch());
+        for (int i = 0; i < count; i++) {
+            BitSet servedFloors = building.zone(zones, i);
+            system.addElevator(capacity > 0 ? new Elevator(i + 1, capacity, capacity * Person.AVERAGE_WEIGHT, servedFloors)
+                    : new Elevator(i + 1, Integer.MAX_VALUE, Integer.MAX_VALUE, servedFloors));
+        }
+        PassengerMetrics metrics = new PassengerMetrics(system);
+        DestinationDispatcher dispatcher = strategy.equals("destination") ? new DestinationDispatcher(system, WINDOW, MAX_STOPS) : null;
+        TrafficGenerator generator = new TrafficGenerator(building, traffic, callsPerTick, seed);
+
+        long calls = 0;
+        for (long tick = 0; tick < ticks; tick++) {
+            int made = generator.nextTick();
+            for (int i = 0; i < made; i++) {
+                int floor = generator.getOrigin(i);
+                int weight = generator.getWeight(i);
+                //no elevator may go between zones, and person heavier than the load of elevators does not call them
+                if (!system.canServe(floor, floor + generator.getDirection(i)) || !system.canCarry(weight))
+                    continue;
+                if (dispatcher != null)
+                    dispatcher.call(floor, floor + generator.getDirection(i), weight);
+                else
+                    system.pickup(floor, generator.getDirection(i), weight);
+                calls++;
+            }
+            if (dispatcher != null)
+                dispatcher.advance();
+            else
+                system.advance();
+        }
+
+        //let elevators deliver everyone who is still waiting or riding, ticks without events are skipped
+        long drained = 0;
+        while (drained < MAX_DRAIN_TICKS && !(system.isIdle() && (dispatcher == null || !dispatcher.hasWaitingCalls()))) {
+            if (dispatcher != null) {
+                dispatcher.advance();
+                drained++;
+            } else {
+                long skipped = Math.min(system.nextEvent() - system.getTime(), MAX_DRAIN_TICKS - drained);
+                system.advance(skipped);
+                drained += skipped;
+            }
+        }
+
+        Result result = new Result(count, capacity, strategy, traffic);
+        result.runs = 1;
+        result.calls = calls;
+        result.delivered = system.countPeopleDelivered();
+        result.ticks = ticks + drained;
+        result.floorsTravelled = system.countFloorsTravelled();
+        result.waitTimes.add(metrics.getWaitTimes());
+        result.rideTimes.add(metrics.getRideTimes());
+        //a run which delivered nobody has no mean wait time, counting it as 0 would make the spread meaningless
+        if (result.delivered > 0) {
+            double mean = result.waitTimes.getMean();
+            result.measuredRuns = 1;
+            result.waitMeans = mean;
+            result.squaredWaitMeans = mean * mean;
+        }
+        return result;
+    }
+
+    /**
+     * This is a class which runs all seeds of one configuration, every seed as a task of its own
+     */
+    private class Configuration extends RecursiveTask<Result> {
+        private static final long serialVersionUID = 1L; //tasks are never serialized
+        private final int count; //how many elevators are in the building
+        private final int capacity; //how many people fit in one elevator
+        private final String strategy; //name of dispatch strategy
+        private final Traffic traffic; //kind of traffic
+
+        /**
+         * Configuration constructor initializes variables
+         *
+         * @param count    how many elevators are in the building
+         * @param capacity how many people fit in one elevator, 0 if any number of people fits
+         * @param strategy name of dispatch strategy
+         * @param traffic  kind of traffic
+         */
+        Configuration(int count, int capacity, String strategy, Traffic traffic) {
+            this.count = count;
+            this.capacity = capacity;
+            this.strategy = strategy;
+            this.traffic = traffic;
+        }
+
+        @Override
+        protected Result compute() {
+            List<RecursiveTask<Result>> runs = new ArrayList<>(seeds);
+            for (int i = 0; i < seeds; i++) {
+                long seed = firstSeed + i;
+                runs.add(new RecursiveTask<Result>() {
+                    private static final long serialVersionUID = 1L; //tasks are never serialized
+
+                    @Override
+                    protected Result compute() {
+                        return simulate(count, capacity, strategy, traffic, seed);
+                    }
+                });
+            }
+            //forked runs wait in the queue of this thread, where other threads can steal them
+            invokeAll(runs);
+            Result total = new Result(count, capacity, strategy, traffic);
+            for (int i = 0; i < runs.size(); i++)
+                total.add(runs.get(i).join());
+            return total;
+        }
+    }
+
+    /**
+     * This is a class which represent results of one or more runs of the same configuration
+     */
+    static class Result {
+        final int count; //how many elevators are in the building
+        final int capacity; //how many people fit in one elevator
+        final String strategy; //name of dispatch strategy
+        final Traffic traffic; //kind of traffic
+        final Histogram waitTimes; //wait times of people of all runs
+        final Histogram rideTimes; //ride times of people of all runs
+        int runs; //how many runs were added
+        long calls; //how many calls were made in all runs
+        long delivered; //how many people were delivered in all runs
+        long ticks; //how many ticks all runs took, with ticks of delivering people left after the last call
+        long floorsTravelled; //how many floors elevators passed in all runs
+        int measuredRuns; //how many runs delivered at least one person
+        double waitMeans; //sum of mean wait times of all runs which delivered someone
+        double squaredWaitMeans; //sum of squares of mean wait times of all runs which delivered someone
+
+        /**
+         * Result constructor initializes variables
+         *
+         * @param count    how many elevators are in the building
+         * @param capacity how many people fit in one elevator, 0 if any number of people fits
+         * @param strategy name of dispatch strategy
+         * @param traffic  kind of traffic
+         */
+        Result(int count, int capacity, String strategy, Traffic traffic) {
+            this.count = count;
+            this.capacity = capacity;
+            this.strategy = strategy;
+            this.traffic = traffic;
+            waitTimes = new Histogram(HIGHEST_TIME);
+            rideTimes = new Histogram(HIGHEST_TIME);
+        }
+
+        /**
+         * Adds results of other runs of the same configuration
+         *
+         * @param other results to be added
+         */
+        void add(Result other) {
+            runs += other.runs;
+            calls += other.calls;
+            delivered += other.delivered;
+            ticks += other.ticks;
+            floorsTravelled += other.floorsTravelled;
+            waitTimes.add(other.waitTimes);
+            rideTimes.add(other.rideTimes);
+            measuredRuns += other.measuredRuns;
+            waitMeans += other.waitMeans;
+            squaredWaitMeans += other.squaredWaitMeans;
+        }
+
+        /**
+         * Prints results as one line of CSV, numbers of people and floors are sums of all runs
+         *
+         * @return line with values in order of the header
+         */
+        @Override
+        public String toString() {
+            double mean = measuredRuns > 0 ? waitMeans / measuredRuns : 0;
+            //standard deviation of mean wait times of single runs, tells how much one seed can be trusted
+            double stddev = measuredRuns > 1
+                    ? Math.sqrt(Math.max(squaredWaitMeans - measuredRuns * mean * mean, 0) / (measuredRuns - 1)) : 0;
+            return String.format(Locale.ROOT, "%d,%d,%s,%s,%d,%d,%d,%d,%.2f,%.2f,%d,%d,%d,%d,%.2f,%d,%.2f,%d,%.2f",
+                    count, capacity, strategy, traffic.name().toLowerCase(Locale.ROOT).replace('_', '-'), runs, calls,
+                    delivered, calls - delivered, waitTimes.getMean(), stddev, waitTimes.getValueAtPercentile(50),
+                    waitTimes.getValueAtPercentile(95), waitTimes.getValueAtPercentile(99), waitTimes.getMax(),
+                    rideTimes.getMean(), rideTimes.getValueAtPercentile(95), 1000.0 * delivered / ticks,
+                    floorsTravelled, delivered > 0 ? (double) floorsTravelled / delivered : 0);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package system;
+
+/**
+ * This is a class which represent how long elevators need to move and to stop
+ */
+public class Timing {
+    private long floorTravelNanos; //time of going one floor at full speed
+    private long doorDwellNanos; //time of opening and closing doors when elevator stops
+    private long accelerationNanos; //time lost for speeding up or slowing down
+
+    /**
+     * Timing constructor initializes variables
+     *
+     * @param floorTravelMillis  time of going one floor at full speed in milliseconds
+     * @param doorDwellMillis    time of opening and closing doors when elevator stops in milliseconds
+     * @param accelerationMillis time lost for speeding up or slowing down in milliseconds
+     */
+    public Timing(long floorTravelMillis, long doorDwellMillis, long accelerationMillis) {
+        if (floorTravelMillis < 0 || doorDwellMillis < 0 || accelerationMillis < 0)
+            throw new IllegalArgumentException("Durations must not be negative");
+
+        floorTravelNanos = floorTravelMillis * 1_000_000;
+        doorDwellNanos = doorDwellMillis * 1_000_000;
+        accelerationNanos = accelerationMillis * 1_000_000;
+    }
+
+    /**
+     * Counts time needed to leave the floor on which elevator was not active
+     *
+     * @return time of speeding up and going one floor in nanoseconds
+     */
+    long departure() {
+        return accelerationNanos + floorTravelNanos;
+    }
+
+    /**
+     * Counts time needed to go to the next floor
+     *
+     * @param stopped whether elevator stopped on the current floor to let people in or out
+     * @return time of going one floor in nanoseconds, with slowing down, doors and speeding up if elevator stopped
+     */
+    long nextFloor(boolean stopped) {
+        return stopped ? 2 * accelerationNanos + doorDwellNanos + floorTravelNanos : floorTravelNanos;
+    }
+}
@@ -0,0 +1,372 @@
+package system;
+
+import domain.Building;
+import domain.Person;
+import enums.Traffic;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.SplittableRandom;
+
+/**
+ * This is a class which makes random calls, so the system can be tested without typing calls by hand
+ *
+ * Number of calls on every tick has Poisson distribution, and floors of every call are drawn
+ * from an origin-destination matrix, where matrix[a][b] tells how often people go from floor a to floor b.
+ * Pairs of floors are drawn with alias method, so every call costs the same no matter how big the building is.
+ * Weights of people have normal distribution around the average weight and are drawn from their own random numbers,
+ * so adding them did not change floors of calls of any seed.
+ * The same seed always gives the same calls, so every run can be repeated.
+ * Calls can be made in the system tick by tick, or written to a trace file.
+ */
+public class TrafficGenerator {
+    private static final int EXACT_POISSON = 500; //above this mean number of calls is drawn from normal distribution
+    private static final double WEIGHT_DEVIATION = 15; //standard deviation of weight of people in kilograms
+    private static final int MIN_WEIGHT = 20; //the smallest weight of a person in kilograms
+    private static final int MAX_WEIGHT = 150; //the biggest weight of a person in kilograms
+
+    private SplittableRandom random; //source of randomness
+    private SplittableRandom weightRandom; //source of randomness of weights of people
+    private int[] pairOrigins; //floor on which person waits, for every pair of floors
+    private int[] pairDestinations; //floor on which person wants to go, for every pair of floors
+    private double[] probability; //probability of keeping drawn pair instead of taking its alias
+    private int[] alias; //pair taken instead of drawn pair
+    private double callsPerTick; //mean number of calls on one tick
+    private double[] poisson; //cumulative probability of every number of calls, null if mean is too big
+    private int[] origins; //floors on which people of the last tick wait
+    private int[] directions; //how many floors people of the last tick want to go
+    private int[] weights; //weights of people of the last tick in kilograms
+    private int calls; //how many calls were made on the last tick
+
+    /**
+     * TrafficGenerator constructor initializes variables, matrix is built for given kind of traffic
+     *
+     * @param building     whose floors and lobbies are used
+     * @param traffic      kind of traffic
+     * @param callsPerTick mean number of calls on one tick
+     * @param seed         the same seed gives the same calls
+     */
+    public TrafficGenerator(Building building, Traffic traffic, double callsPerTick, long seed) {
+        this(matrix(building, traffic), callsPerTick, seed);
+    }
+
+    /**
+     * TrafficGenerator constructor initializes variables
+     *
+     * @param matrix       matrix[a][b] tells how often people go from floor a to floor b, it does not have to sum up to 1,
+     *                     numbers on the diagonal are skipped
+     * @param callsPerTick mean number of calls on one tick
+     * @param seed         the same seed gives the same calls
+     */
+    public TrafficGenerator(double[][] matrix, double callsPerTick, long seed) {
+        if (!(callsPerTick >= 0) || Double.isInfinite(callsPerTick))
+            throw new IllegalArgumentException("Wrong number of calls per tick: " + callsPerTick);
+
+        random = new SplittableRandom(seed);
+        weightRandom = new SplittableRandom(seed).split();
+        this.callsPerTick = callsPerTick;
+        prepareAlias(matrix);
+        if (callsPerTick <= EXACT_POISSON)
+            preparePoisson();
+        origins = new int[16];
+        directions = new int[16];
+        weights = new int[16];
+    }
+
+    /**
+     * Makes calls of the next tick, they can be read with {@link #getOrigin(int)} and {@link #getDirection(int)}
+     *
+     * @return how many calls were made
+     */
+    public int nextTick() {
+        int count = drawCount();
+        if (origins.length < count) {
+            origins = new int[Integer.highestOneBit(count) << 1];
+            directions = new int[origins.length];
+            weights = new int[origins.length];
+        }
+        int pairs = alias.length;
+        for (int i = 0; i < count; i++) {
+            int pair = random.nextInt(pairs);
+            if (random.nextDouble() >= probability[pair])
+                pair = alias[pair];
+            origins[i] = pairOrigins[pair];
+            directions[i] = pairDestinations[pair] - pairOrigins[pair];
+            weights[i] = drawWeight();
+        }
+        calls = count;
+        return count;
+    }
+
+    /**
+     * Getter of origin
+     *
+     * @param call number of the call of the last tick
+     * @return floor on which person is waiting
+     */
+    public int getOrigin(int call) {
+        return origins[call];
+    }
+
+    /**
+     * Getter of direction
+     *
+     * @param call number of the call of the last tick
+     * @return how many floors person wants to go, ex. -5 means that person wants to go 5 floors below
+     */
+    public int getDirection(int call) {
+        return directions[call];
+    }
+
+    /**
+     * Getter of weight
+     *
+     * @param call number of the call of the last tick
+     * @return weight of the person in kilograms
+     */
+    public int getWeight(int call) {
+        return weights[call];
+    }
+
+    /**
+     * Makes calls of the next tick in the system, calls which the system rejects are skipped
+     *
+     * @param system where people call elevators
+     * @return how many calls were accepted
+     * @see ElevatorSystem#pickup(int, int, int)
+     */
+    public int pickupNext(ElevatorSystem system) {
+        int count = nextTick();
+        int accepted = 0;
+        for (int i = 0; i < count; i++) {
+            //no elevator may go between the floors in a building with zones
+            try {
+                system.pickup(origins[i], directions[i], weights[i]);
+                accepted++;
+            } catch (IllegalArgumentException e) {
+                //call is skipped
+            }
+        }
+        return accepted;
+    }
+
+    /**
+     * Writes calls of the next ticks to a trace file, one call per line: tick floor direction weight
+     *
+     * @param file  where trace is written, old file is replaced
+     * @param ticks how many ticks are written
+     * @return how many calls were written
+     * @throws IOException if file can not be written
+     */
+    public long write(Path file, long ticks) throws IOException {
+        long written = 0;
+        byte[] line = new byte[64];
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 1 << 16)) {
+            for (long tick = 0; tick < ticks; tick++) {
+                int count = nextTick();
+                for (int i = 0; i < count; i++) {
+                    int length = putNumber(line, 0, tick);
+                    line[length++] = ' ';
+                    length = putNumber(line, length, origins[i]);
+                    line[length++] = ' ';
+                    length = putNumber(line, length, directions[i]);
+                    line[length++] = ' ';
+                    length = putNumber(line, length, weights[i]);
+                    line[length++] = '\n';
+                    out.write(line, 0, length);
+                }
+                written += count;
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Getter of calls
+     *
+     * @return how many calls were made on the last tick
+     */
+    public int getCalls() {
+        return calls;
+    }
+
+    /**
+     * Builds origin-destination matrix of given kind of traffic
+     *
+     * @param building whose floors and lobbies are used
+     * @param traffic  kind of traffic
+     * @return matrix where matrix[a][b] tells how often people go from floor a to floor b
+     */
+    private static double[][] matrix(Building building, Traffic traffic) {
+        int floors = building.getFloors();
+        if (floors > 1 << 12)
+            throw new IllegalArgumentException("Building is too tall for generated traffic: " + floors + " floors");
+
+        BitSet lobbies = building.getLobbies();
+        int lobbyCount = lobbies.cardinality();
+        int otherCount = floors - lobbyCount;
+        double[][] matrix = new double[floors][floors];
+        for (int a = 0; a < floors; a++) {
+            for (int b = 0; b < floors; b++) {
+                if (a == b)
+                    continue;
+                matrix[a][b] = traffic.getInterfloor() / ((double) floors * (floors - 1));
+                if (otherCount == 0)
+                    continue;
+                if (lobbies.get(a) && !lobbies.get(b))
+                    matrix[a][b] += traffic.getIncoming() / ((double) lobbyCount * otherCount);
+                if (!lobbies.get(a) && lobbies.get(b))
+                    matrix[a][b] += traffic.getOutgoing() / ((double) lobbyCount * otherCount);
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Prepares tables of alias method from the matrix
+     *
+     * @param matrix matrix[a][b] tells how often people go from floor a to floor b
+     */
+    private void prepareAlias(double[][] matrix) {
+        int pairs = 0;
+        double total = 0;
+        for (int a = 0; a < matrix.length; a++) {
+            if (matrix[a].length != matrix.length)
+                throw new IllegalArgumentException("Matrix must be square");
+            for (int b = 0; b < matrix.length; b++) {
+                if (matrix[a][b] < 0 || Double.isNaN(matrix[a][b]) || Double.isInfinite(matrix[a][b]))
+                    throw new IllegalArgumentException("Wrong number in matrix: " + matrix[a][b]);
+                if (a != b && matrix[a][b] > 0) {
+                    pairs++;
+                    total += matrix[a][b];
+                }
+            }
+        }
+        if (pairs == 0)
+            throw new IllegalArgumentException("Nobody goes anywhere in the matrix");
+
+        pairOrigins = new int[pairs];
+        pairDestinations = new int[pairs];
+        probability = new double[pairs];
+        alias = new int[pairs];
+        int pair = 0;
+        for (int a = 0; a < matrix.length; a++) {
+            for (int b = 0; b < matrix.length; b++) {
+                if (a == b || matrix[a][b] == 0)
+                    continue;
+                pairOrigins[pair] = a;
+                pairDestinations[pair] = b;
+                //scaled so the mean is 1
+                probability[pair] = matrix[a][b] * pairs / total;
+                pair++;
+            }
+        }
+
+        //pairs drawn less often than the mean are filled up with pairs drawn more often
+        int[] small = new int[pairs];
+        int[] large = new int[pairs];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < pairs; i++) {
+            alias[i] = i;
+            if (probability[i] < 1)
+                small[smallCount++] = i;
+            else
+                large[largeCount++] = i;
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            alias[less] = more;
+            probability[more] -= 1 - probability[less];
+            if (probability[more] < 1)
+                small[smallCount++] = more;
+            else
+                large[largeCount++] = more;
+        }
+        //what is left differs from 1 only by rounding errors
+        while (smallCount > 0)
+            probability[small[--smallCount]] = 1;
+        while (largeCount > 0)
+            probability[large[--largeCount]] = 1;
+    }
+
+    /**
+     * Prepares cumulative probability of every number of calls on one tick
+     */
+    private void preparePoisson() {
+        double chance = Math.exp(-callsPerTick);
+        double sum = chance;
+        double[] table = new double[16];
+        int count = 0;
+        table[count++] = sum;
+        //table ends when the rest is too small to be ever drawn
+        while (1 - sum > 1e-12 && chance > 0) {
+            chance *= callsPerTick / count;
+            sum += chance;
+            if (count == table.length)
+                table = Arrays.copyOf(table, count * 2);
+            table[count++] = sum;
+        }
+        poisson = Arrays.copyOf(table, count);
+    }
+
+    /**
+     * Draws number of calls on one tick
+     *
+     * @return number of calls with Poisson distribution
+     */
+    private int drawCount() {
+        if (poisson == null) {
+            //with big mean Poisson distribution is very close to normal distribution
+            double gaussian = Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+            return (int) Math.max(0, Math.round(callsPerTick + Math.sqrt(callsPerTick) * gaussian));
+        }
+        double drawn = random.nextDouble();
+        int index = Arrays.binarySearch(poisson, drawn);
+        index = index < 0 ? -index - 1 : index;
+        return Math.min(index, poisson.length - 1);
+    }
+
+    /**
+     * Draws weight of a person
+     *
+     * @return weight in kilograms with normal distribution around the average weight
+     */
+    private int drawWeight() {
+        double gaussian = Math.sqrt(-2 * Math.log(1 - weightRandom.nextDouble())) * Math.cos(2 * Math.PI * weightRandom.nextDouble());
+        long weight = Math.round(Person.AVERAGE_WEIGHT + WEIGHT_DEVIATION * gaussian);
+        return (int) Math.max(MIN_WEIGHT, Math.min(MAX_WEIGHT, weight));
+    }
+
+    /**
+     * Writes number as ASCII digits
+     *
+     * @param line   where number is written
+     * @param at     position of the first digit
+     * @param number to be written
+     * @return position after the last digit
+     */
+    private static int putNumber(byte[] line, int at, long number) {
+        if (number < 0) {
+            line[at++] = '-';
+            number = -number;
+        }
+        int end = at;
+        long rest = number;
+        do {
+            end++;
+            rest /= 10;
+        } while (rest > 0);
+        for (int i = end - 1; i >= at; i--) {
+            line[i] = (byte) ('0' + number % 10);
+            number /= 10;
+        }
+        return end;
+    }
+}
@@ -0,0 +1,66 @@
+package benchmarks;
+
+import domain.Elevator;
+import enums.Direction;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is a benchmark of adding new destinations to queues of elevators
+ *
+ * New destinations change queues, so every invocation of an iteration gets its own elevators prepared before
+ * the iteration instead of before every invocation. Score is time of adding one destination.
+ *
+ * @see Elevator#addDestination(int, Direction)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, batchSize = DestinationBenchmark.BATCH)
+@Measurement(iterations = 10, batchSize = DestinationBenchmark.BATCH)
+@Fork(1)
+public class DestinationBenchmark {
+    private static final int ELEVATORS = 256; //elevators getting new destination in a single invocation
+    static final int BATCH = 256; //invocations in a single iteration, timed together as one shot
+
+    @Param({"11", "121"})
+    private int floors;
+
+    @Param({"0", "8", "64"})
+    private int queueDepth;
+
+    private Random random; //generator of destinations
+    private int[] destinations; //new destination of each elevator
+    private Direction[] directions; //where person wants to go
+    private Elevator[][] elevators; //elevators being measured, ELEVATORS for every invocation of the iteration
+    private int next; //elevators of the next invocation
+
+    @Setup(Level.Trial)
+    public void prepareDestinations() {
+        random = new Random(Workload.SEED);
+        destinations = Workload.floors(random, ELEVATORS, floors);
+        directions = new Direction[ELEVATORS];
+        for (int i = 0; i < ELEVATORS; i++)
+            directions[i] = Direction.values()[random.nextInt(3)];
+        elevators = new Elevator[BATCH][ELEVATORS];
+    }
+
+    @Setup(Level.Iteration)
+    public void prepareElevators() {
+        for (int b = 0; b < BATCH; b++)
+            for (int i = 0; i < ELEVATORS; i++)
+                elevators[b][i] = Workload.busyElevator(i + 1, random, floors, queueDepth);
+        next = 0;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ELEVATORS * BATCH)
+    public Elevator[] addDestination() {
+        Elevator[] batch = elevators[next++];
+        for (int i = 0; i < ELEVATORS; i++)
+            batch[i].addDestination(destinations[i], directions[i]);
+        return batch;
+    }
+}
@@ -0,0 +1,73 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import system.CostDispatch;
+import system.ElevatorSystem;
+import system.NearestDispatch;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is a benchmark of dispatching new calls to the nearest elevator
+ *
+ * Calls change the system, so every invocation of an iteration gets its own system prepared before the iteration
+ * instead of before every invocation, whose setup would be timed together with a few microseconds of calls.
+ * Score is time of one call.
+ *
+ * @see ElevatorSystem#pickup(int, int)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, batchSize = DispatchBenchmark.BATCH)
+@Measurement(iterations = 10, batchSize = DispatchBenchmark.BATCH)
+@Fork(1)
+public class DispatchBenchmark {
+    private static final int CALLS = 256; //calls made in a single invocation
+    static final int BATCH = 64; //invocations in a single iteration, timed together as one shot
+
+    @Param({"1", "16", "256", "4096"})
+    private int elevators;
+
+    @Param({"11", "121"})
+    private int floors;
+
+    @Param({"0", "8"})
+    private int queueDepth;
+
+    @Param({"nearest", "cost"})
+    private String strategy;
+
+    private Random random; //generator of destinations of busy elevators
+    private int[] origins; //floors on which people are waiting
+    private int[] directions; //how many floors each person wants to go
+    private ElevatorSystem[] systems; //systems being measured, one for every invocation of the iteration
+    private int next; //system of the next invocation
+
+    @Setup(Level.Trial)
+    public void prepareCalls() {
+        random = new Random(Workload.SEED);
+        origins = Workload.floors(random, CALLS, floors);
+        directions = Workload.directions(random, origins, floors);
+        systems = new ElevatorSystem[BATCH];
+    }
+
+    @Setup(Level.Iteration)
+    public void prepareSystems() {
+        for (int i = 0; i < BATCH; i++) {
+            systems[i] = Workload.busySystem(random, elevators, floors, queueDepth);
+            systems[i].setDispatchStrategy(strategy.equals("cost") ? new CostDispatch() : new NearestDispatch());
+        }
+        next = 0;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CALLS * BATCH)
+    public ElevatorSystem pickup() {
+        ElevatorSystem system = systems[next++];
+        for (int i = 0; i < CALLS; i++)
+            system.pickup(origins[i], directions[i]);
+        return system;
+    }
+}
@@ -0,0 +1,67 @@
+package benchmarks;
+
+import domain.Building;
+import domain.Elevator;
+import org.openjdk.jmh.annotations.*;
+import system.ElevatorSystem;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is a benchmark of ticks made one by one, compared with ticks skipped between events,
+ * score is number of calls per second, every call followed by the given number of ticks
+ *
+ * With many ticks between calls elevators are idle most of the time, like at night.
+ *
+ * @see ElevatorSystem#advance(long)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventBenchmark {
+    private static final int CALLS = 1 << 16; //calls which are made one after another in a loop
+
+    @Param({"16"})
+    private int elevators;
+
+    @Param({"31"})
+    private int floors;
+
+    @Param({"2", "1000"})
+    private int ticksBetweenCalls;
+
+    @Param({"ticks", "events"})
+    private String mode;
+
+    private int[] origins; //floors on which people are waiting
+    private int[] directions; //how many floors each person wants to go
+    private int next; //next call to be made
+    private ElevatorSystem system; //system being measured
+
+    @Setup(Level.Trial)
+    public void prepareSystem() {
+        Random random = new Random(Workload.SEED);
+        origins = Workload.floors(random, CALLS, floors);
+        directions = Workload.directions(random, origins, floors);
+        system = new ElevatorSystem(new Building(floors));
+        for (int i = 0; i < elevators; i++)
+            system.addElevator(new Elevator(i + 1, 8, 600));
+    }
+
+    @Benchmark
+    public ElevatorSystem callAndWait() {
+        system.pickup(origins[next], directions[next]);
+        next = (next + 1) & (CALLS - 1);
+        if (mode.equals("events")) {
+            system.advance(ticksBetweenCalls);
+        } else {
+            for (int i = 0; i < ticksBetweenCalls; i++)
+                system.advance();
+        }
+        return system;
+    }
+}
@@ -0,0 +1,60 @@
+package benchmarks;
+
+import domain.Building;
+import domain.Elevator;
+import org.openjdk.jmh.annotations.*;
+import system.ElevatorSystem;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is a benchmark of ticks of a very big fleet where only a few elevators move at once,
+ * score is number of ticks per second
+ *
+ * Idle elevators and elevators only passing floors are checked in the arrays of the fleet,
+ * so the score depends mostly on the number of elevators.
+ *
+ * @see domain.Fleet
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FleetBenchmark {
+    private static final int CALLS = 1 << 16; //calls which are made one after another in a loop
+    private static final int CALLS_PER_TICK = 8; //calls made before every tick
+
+    @Param({"4096", "16384", "65536"})
+    private int elevators;
+
+    @Param({"121"})
+    private int floors;
+
+    private int[] origins; //floors on which people are waiting
+    private int[] directions; //how many floors each person wants to go
+    private int next; //next call to be made
+    private ElevatorSystem system; //system being measured
+
+    @Setup(Level.Trial)
+    public void prepareSystem() {
+        Random random = new Random(Workload.SEED);
+        origins = Workload.floors(random, CALLS, floors);
+        directions = Workload.directions(random, origins, floors);
+        system = new ElevatorSystem(new Building(floors));
+        for (int i = 0; i < elevators; i++)
+            system.addElevator(new Elevator(i + 1, 8, 600));
+    }
+
+    @Benchmark
+    public ElevatorSystem advance() {
+        for (int i = 0; i < CALLS_PER_TICK; i++) {
+            system.pickup(origins[next], directions[next]);
+            next = (next + 1) & (CALLS - 1);
+        }
+        system.advance();
+        return system;
+    }
+}
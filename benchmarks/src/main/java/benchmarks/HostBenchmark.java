@@ -0,0 +1,76 @@
+package benchmarks;
+
+import domain.Building;
+import domain.Elevator;
+import org.openjdk.jmh.annotations.*;
+import system.BuildingHost;
+import system.ElevatorSystem;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is a benchmark of many buildings ticked by shards, score is number of ticks of single buildings per second
+ *
+ * With more shards than cores the score stops growing.
+ *
+ * @see BuildingHost
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HostBenchmark {
+    private static final int BUILDINGS = 64; //how many buildings are hosted
+    private static final int TICKS = 100; //ticks of every building in one invocation
+    private static final int CALLS = 1 << 16; //calls which are made one after another in a loop
+
+    @Param({"1", "2", "4"})
+    private int shards;
+
+    @Param({"16"})
+    private int elevators;
+
+    @Param({"31"})
+    private int floors;
+
+    private int[] origins; //floors on which people are waiting
+    private int[] directions; //how many floors each person wants to go
+    private int next; //next call to be made
+    private BuildingHost host; //host being measured
+
+    @Setup(Level.Trial)
+    public void prepareHost() {
+        Random random = new Random(Workload.SEED);
+        origins = Workload.floors(random, CALLS, floors);
+        directions = Workload.directions(random, origins, floors);
+        host = new BuildingHost(shards);
+        for (int building = 0; building < BUILDINGS; building++) {
+            ElevatorSystem system = new ElevatorSystem(new Building(floors));
+            for (int i = 0; i < elevators; i++)
+                system.addElevator(new Elevator(i + 1, 8, 600));
+            host.addBuilding(building, system);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopHost() throws InterruptedException {
+        host.stop();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BUILDINGS * TICKS)
+    public BuildingHost run() {
+        //about one call for every elevator on every ten ticks
+        for (int building = 0; building < BUILDINGS; building++) {
+            for (int i = 0; i < elevators * TICKS / 10; i++) {
+                host.call(building, origins[next], directions[next]);
+                next = (next + 1) & (CALLS - 1);
+            }
+        }
+        host.run(TICKS);
+        return host;
+    }
+}
@@ -0,0 +1,57 @@
+package benchmarks;
+
+import domain.Elevator;
+import org.openjdk.jmh.annotations.*;
+import system.CallIntake;
+import system.ElevatorSystem;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is a benchmark of offering calls from many threads while one thread moves elevators
+ *
+ * @see CallIntake
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IntakeBenchmark {
+    private static final int FLOORS = 11; //floors in the building
+    private static final int BATCH = 1024; //the biggest number of calls drained at once
+
+    private CallIntake intake; //intake being measured
+    private ElevatorSystem system; //system which picks people up
+
+    @Setup(Level.Iteration)
+    public void prepare() {
+        intake = new CallIntake(8, 4096);
+        system = new ElevatorSystem();
+        for (int i = 0; i < 16; i++)
+            system.addElevator(new Elevator(i + 1));
+    }
+
+    @State(Scope.Thread)
+    public static class Caller {
+        private int call; //number of next call made by this thread
+    }
+
+    @Benchmark
+    @Group("intake")
+    @GroupThreads(3)
+    public boolean offer(Caller caller) {
+        int floor = caller.call++ % FLOORS;
+        return intake.offer(floor, floor == 0 ? 1 : -floor);
+    }
+
+    @Benchmark
+    @Group("intake")
+    @GroupThreads(1)
+    public int drain() {
+        int drained = intake.drainTo(system, BATCH);
+        system.advance();
+        return drained;
+    }
+}
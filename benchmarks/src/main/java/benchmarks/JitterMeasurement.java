@@ -0,0 +1,81 @@
+package benchmarks;
+
+import domain.Building;
+import domain.Elevator;
+import system.CallIntake;
+import system.ElevatorSystem;
+import system.RealTimeController;
+import system.Timing;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is a measurement of tick jitter of the real-time controller with many clients calling elevators at once
+ *
+ * Jitter is not a throughput or a time of an operation, so it is measured by this program instead of JMH.
+ * Run it after mvn package from the main directory:
+ * java -cp benchmarks/target/benchmarks.jar benchmarks.JitterMeasurement 10000 50 30
+ * where 10000 is a number of clients, 50 a period of ticks in milliseconds and 30 a number of seconds.
+ * On Java 21 every client gets a virtual thread, on older versions a platform thread.
+ *
+ * @see RealTimeController#getTickJitterMicros(double)
+ */
+public class JitterMeasurement {
+    private static final int ELEVATORS = 16; //elevators in the building
+    private static final int FLOORS = 40; //floors in the building
+    private static final long MEAN_PAUSE_MILLIS = 10_000; //mean time between calls of one client
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        long periodMillis = args.length > 1 ? Long.parseLong(args[1]) : 50;
+        long seconds = args.length > 2 ? Long.parseLong(args[2]) : 30;
+
+        ElevatorSystem system = new ElevatorSystem(new Building(FLOORS));
+        for (int i = 0; i < ELEVATORS; i++)
+            system.addElevator(new Elevator(i + 1, 13, 1000));
+        CallIntake intake = new CallIntake(64, 1024);
+        RealTimeController controller = new RealTimeController(system, intake, new Timing(1500, 3000, 500),
+                periodMillis, clientExecutor());
+        //every client presses a button once in a while, calls which do not fit are dropped like a missed press
+        for (int i = 0; i < clients; i++) {
+            controller.connect(calls -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (true) {
+                    Thread.sleep(random.nextLong(2 * MEAN_PAUSE_MILLIS));
+                    int floor = random.nextInt(FLOORS);
+                    int destination = random.nextInt(FLOORS - 1);
+                    calls.offer(floor, (destination >= floor ? destination + 1 : destination) - floor);
+                }
+            });
+        }
+
+        controller.start();
+        TimeUnit.SECONDS.sleep(seconds);
+        controller.stop();
+
+        System.out.println("Clients: " + clients + ", period: " + periodMillis + " ms, ticks: " + controller.getTicks()
+                + ", failed ticks: " + controller.getFailedTicks());
+        System.out.println("Tick jitter in microseconds: p50 " + controller.getTickJitterMicros(50)
+                + ", p99 " + controller.getTickJitterMicros(99) + ", max " + controller.getMaxTickJitterMicros());
+    }
+
+    /**
+     * Creates executor running clients, with virtual threads if Java has them
+     *
+     * @return executor starting a new thread for every client
+     */
+    private static ExecutorService clientExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "call-client");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package benchmarks;
+
+import domain.Building;
+import domain.Elevator;
+import org.openjdk.jmh.annotations.*;
+import system.ElevatorSystem;
+import system.Journal;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is a benchmark of ticks of a busy system while its journal is written, score is number of ticks per second
+ *
+ * With commitEveryTicks 0 no journal is written, so the difference of scores is the cost of the journal.
+ *
+ * @see Journal
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JournalBenchmark {
+    private static final int CALLS = 1 << 16; //calls which are made one after another in a loop
+    private static final double CALLS_PER_TICK = 0.33; //mean number of calls on one tick
+
+    @Param({"16"})
+    private int elevators;
+
+    @Param({"40"})
+    private int floors;
+
+    @Param({"0", "100", "10000"})
+    private int commitEveryTicks;
+
+    private int[] origins; //floors on which people are waiting
+    private int[] directions; //how many floors each person wants to go
+    private int next; //next call to be made
+    private double due; //part of a call which was not made yet
+    private ElevatorSystem system; //system being measured
+    private Path directory; //where journal is written
+    private Journal journal; //journal being written, null if there is none
+
+    @Setup(Level.Trial)
+    public void prepareSystem() throws IOException {
+        Random random = new Random(Workload.SEED);
+        origins = Workload.floors(random, CALLS, floors);
+        directions = Workload.directions(random, origins, floors);
+        system = new ElevatorSystem(new Building(floors));
+        for (int i = 0; i < elevators; i++)
+            system.addElevator(new Elevator(i + 1, 8, 600));
+        directory = Files.createTempDirectory("journal");
+        if (commitEveryTicks > 0)
+            journal = Journal.start(system, directory, commitEveryTicks);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFiles() throws IOException {
+        if (journal != null)
+            journal.close();
+        try (java.util.stream.Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator)
+                Files.delete(file);
+        }
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public ElevatorSystem tick() {
+        due += CALLS_PER_TICK;
+        for (; due >= 1; due--) {
+            system.pickup(origins[next], directions[next]);
+            next = (next + 1) & (CALLS - 1);
+        }
+        system.advance();
+        return system;
+    }
+}
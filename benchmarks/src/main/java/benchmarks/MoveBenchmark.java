@@ -0,0 +1,73 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import system.ElevatorSystem;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is a benchmark of moving all elevators by one floor
+ *
+ * Ticks deliver people and empty queues, so every invocation of an iteration gets its own system prepared before
+ * the iteration instead of before every invocation. Score is time of one tick.
+ *
+ * @see ElevatorSystem#advance()
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, batchSize = MoveBenchmark.BATCH)
+@Measurement(iterations = 10, batchSize = MoveBenchmark.BATCH)
+@Fork(1)
+public class MoveBenchmark {
+    private static final int TICKS = 4; //ticks made in a single invocation
+    static final int BATCH = 64; //invocations in a single iteration, timed together as one shot
+
+    @Param({"1", "16", "256", "4096"})
+    private int elevators;
+
+    @Param({"11", "121"})
+    private int floors;
+
+    @Param({"1", "8"})
+    private int callsPerElevator;
+
+    @Param({"false", "true"})
+    private boolean parallel;
+
+    private Random random; //generator of calls
+    private ElevatorSystem[] systems; //systems being measured, one for every invocation of the iteration
+    private int next; //system of the next invocation
+
+    @Setup(Level.Trial)
+    public void prepareRandom() {
+        random = new Random(Workload.SEED);
+        systems = new ElevatorSystem[BATCH];
+    }
+
+    @Setup(Level.Iteration)
+    public void prepareSystems() {
+        for (int b = 0; b < BATCH; b++) {
+            ElevatorSystem system = Workload.busySystem(random, elevators, floors, 0);
+            if (parallel)
+                system.setPool(ForkJoinPool.commonPool());
+            int[] origins = Workload.floors(random, elevators * callsPerElevator, floors);
+            int[] directions = Workload.directions(random, origins, floors);
+            for (int i = 0; i < origins.length; i++)
+                system.pickup(origins[i], directions[i]);
+            systems[b] = system;
+        }
+        next = 0;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TICKS * BATCH)
+    public ElevatorSystem advance() {
+        ElevatorSystem system = systems[next++];
+        for (int i = 0; i < TICKS; i++)
+            system.advance();
+        return system;
+    }
+}
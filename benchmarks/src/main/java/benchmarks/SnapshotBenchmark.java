@@ -0,0 +1,65 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import system.ElevatorSystem;
+import system.Snapshot;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is a benchmark of saving state of the system and restoring it
+ *
+ * @see Snapshot
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnapshotBenchmark {
+    @Param({"16", "10000"})
+    private int elevators;
+
+    @Param({"121"})
+    private int floors;
+
+    private ElevatorSystem system; //system being saved
+    private Path file; //where snapshot is written
+
+    @Setup(Level.Trial)
+    public void prepareSystem() throws IOException {
+        Random random = new Random(Workload.SEED);
+        system = Workload.busySystem(random, elevators, floors, 8);
+        //about one person waiting and one riding for every elevator
+        int[] origins = Workload.floors(random, elevators * 2, floors);
+        int[] directions = Workload.directions(random, origins, floors);
+        for (int i = 0; i < origins.length; i++) {
+            system.pickup(origins[i], directions[i]);
+            if (i % 2 == 1)
+                system.advance();
+        }
+        file = Files.createTempFile("snapshot", ".bin");
+        Snapshot.save(system, file);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public Path save() throws IOException {
+        Snapshot.save(system, file);
+        return file;
+    }
+
+    @Benchmark
+    public ElevatorSystem load() throws IOException {
+        return Snapshot.load(file);
+    }
+}
@@ -0,0 +1,107 @@
+package benchmarks;
+
+import domain.Building;
+import domain.Elevator;
+import enums.Direction;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import system.ElevatorSystem;
+import system.StatusPublisher;
+import system.StatusSubscriber;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is a benchmark of a tick whose status is printed for every elevator, compared with a tick which publishes only changes
+ *
+ * Printed status goes to a stream which throws bytes away, so only building and writing strings is measured, not the console.
+ *
+ * @see StatusPublisher
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatusBenchmark {
+    private static final int CALLS = 1 << 16; //calls which are made one after another in a loop
+    private static final int WARMUP_TICKS = 10_000; //ticks made before measuring
+
+    @Param({"16", "256"})
+    private int elevators;
+
+    @Param({"31"})
+    private int floors;
+
+    @Param({"printed", "published"})
+    private String output;
+
+    private int[] origins; //floors on which people are waiting
+    private int[] directions; //how many floors each person wants to go
+    private int next; //next call to be made
+    private ElevatorSystem system; //system being measured
+    private StatusPublisher.Subscription subscription; //subscription reading published changes
+    private PrintStream console; //console replaced while measuring
+
+    @Setup(Level.Trial)
+    public void prepareSystem(Blackhole blackhole) {
+        Random random = new Random(Workload.SEED);
+        origins = Workload.floors(random, CALLS, floors);
+        directions = Workload.directions(random, origins, floors);
+        system = new ElevatorSystem(new Building(floors));
+        for (int i = 0; i < elevators; i++)
+            system.addElevator(new Elevator(i + 1, 8, 600));
+
+        console = System.out;
+        System.setOut(new PrintStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        }));
+        if (output.equals("published")) {
+            StatusPublisher publisher = new StatusPublisher(elevators * 4);
+            system.setStatusPublisher(publisher);
+            subscription = publisher.subscribe(new StatusSubscriber() {
+                @Override
+                public void statusChanged(long time, int number, int ID, int floor, Direction direction, int nextStop, int stops, int peopleInside) {
+                    blackhole.consume(floor);
+                }
+
+                @Override
+                public void changesLost(long count) {
+                    blackhole.consume(count);
+                }
+            });
+        }
+        for (int i = 0; i < WARMUP_TICKS; i++)
+            tick();
+    }
+
+    @TearDown(Level.Trial)
+    public void restoreConsole() {
+        System.setOut(console);
+    }
+
+    @Benchmark
+    public ElevatorSystem tick() {
+        //about one call for every eight elevators, so elevators can keep up with calls
+        for (int i = 0; i < elevators; i += 8) {
+            system.pickup(origins[next], directions[next]);
+            next = (next + 1) & (CALLS - 1);
+        }
+        system.advance();
+        if (subscription != null)
+            subscription.poll(Integer.MAX_VALUE);
+        else
+            system.status();
+        return system;
+    }
+}
@@ -0,0 +1,73 @@
+package benchmarks;
+
+import domain.Building;
+import domain.Elevator;
+import org.openjdk.jmh.annotations.*;
+import system.CostDispatch;
+import system.ElevatorSystem;
+import system.NearestDispatch;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is a benchmark of a system which works for a long time, people call elevators and are delivered all the time
+ *
+ * System is created once and warmed up, so people, queues and lists of waiting people already grew big enough.
+ * Run it with -prof gc, gc.alloc.rate.norm shows bytes allocated per tick and should be close to 0.
+ * SteadyStateAllocationTest checks it on every build.
+ *
+ * @see ElevatorSystem#advance()
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SteadyStateBenchmark {
+    private static final int CALLS = 1 << 16; //calls which are made one after another in a loop
+    private static final int WARMUP_TICKS = 100_000; //ticks made before measuring
+
+    @Param({"16", "256"})
+    int elevators;
+
+    @Param({"11", "121"})
+    int floors;
+
+    @Param({"nearest", "cost"})
+    String strategy;
+
+    private int[] origins; //floors on which people are waiting
+    private int[] directions; //how many floors each person wants to go
+    private int next; //next call to be made
+    private double callsPerTick; //mean number of calls on one tick
+    private double due; //part of a call which was not made yet
+    private ElevatorSystem system; //system being measured
+
+    @Setup(Level.Trial)
+    public void prepareSystem() {
+        Random random = new Random(Workload.SEED);
+        origins = Workload.floors(random, CALLS, floors);
+        directions = Workload.directions(random, origins, floors);
+        //trips are longer in taller buildings, so fewer calls are made there and queues stay short
+        callsPerTick = elevators * 4.0 / floors;
+        system = new ElevatorSystem(new Building(floors));
+        system.setDispatchStrategy(strategy.equals("cost") ? new CostDispatch() : new NearestDispatch());
+        for (int i = 0; i < elevators; i++)
+            system.addElevator(new Elevator(i + 1, 8, 600));
+        for (int i = 0; i < WARMUP_TICKS; i++)
+            tick();
+    }
+
+    @Benchmark
+    public ElevatorSystem tick() {
+        due += callsPerTick;
+        for (; due >= 1; due--) {
+            system.pickup(origins[next], directions[next]);
+            next = (next + 1) & (CALLS - 1);
+        }
+        system.advance();
+        return system;
+    }
+}
@@ -0,0 +1,43 @@
+package benchmarks;
+
+import domain.Building;
+import enums.Traffic;
+import org.openjdk.jmh.annotations.*;
+import system.TrafficGenerator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is a benchmark of making random calls, score is number of calls per second
+ *
+ * @see TrafficGenerator
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TrafficBenchmark {
+    private static final int CALLS_PER_TICK = 1000; //mean number of calls on one tick
+
+    @Param({"UP_PEAK", "INTERFLOOR"})
+    private Traffic traffic;
+
+    @Param({"121"})
+    private int floors;
+
+    private TrafficGenerator generator; //generator being measured
+
+    @Setup(Level.Trial)
+    public void prepareGenerator() {
+        generator = new TrafficGenerator(new Building(floors), traffic, CALLS_PER_TICK, Workload.SEED);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CALLS_PER_TICK)
+    public int nextTick() {
+        int count = generator.nextTick();
+        return count + generator.getOrigin(count - 1) + generator.getDirection(count - 1);
+    }
+}
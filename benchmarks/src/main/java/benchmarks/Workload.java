@@ -0,0 +1,83 @@
+package benchmarks;
+
+import domain.Elevator;
+import enums.Direction;
+import system.ElevatorSystem;
+
+import java.util.Random;
+
+/**
+ * This is a class which prepares states shared by benchmarks
+ */
+final class Workload {
+    static final long SEED = 42; //every benchmark sees the same calls
+
+    private Workload() {
+    }
+
+    /**
+     * Creates random floors
+     *
+     * @param random generator of floors
+     * @param count  how many floors to create
+     * @param floors how many floors are in the building
+     * @return array of floors from 0 to floors - 1
+     */
+    static int[] floors(Random random, int count, int floors) {
+        int[] result = new int[count];
+        for (int i = 0; i < count; i++)
+            result[i] = random.nextInt(floors);
+        return result;
+    }
+
+    /**
+     * Creates random calls which never leave the building
+     *
+     * @param random generator of calls
+     * @param origins floors on which people are waiting
+     * @param floors  how many floors are in the building
+     * @return array of how many floors each person wants to go
+     */
+    static int[] directions(Random random, int[] origins, int floors) {
+        int[] result = new int[origins.length];
+        for (int i = 0; i < origins.length; i++) {
+            int destination = random.nextInt(floors - 1);
+            if (destination >= origins[i])
+                destination++;
+            result[i] = destination - origins[i];
+        }
+        return result;
+    }
+
+    /**
+     * Creates an elevator which already has destinations to visit
+     *
+     * @param ID         unique number of the elevator
+     * @param random     generator of destinations
+     * @param floors     how many floors are in the building
+     * @param queueDepth how many destinations elevator should get
+     * @return busy elevator
+     */
+    static Elevator busyElevator(int ID, Random random, int floors, int queueDepth) {
+        Elevator elevator = new Elevator(ID);
+        for (int i = 0; i < queueDepth; i++)
+            elevator.addDestination(1 + random.nextInt(floors - 1), random.nextBoolean() ? Direction.UP : Direction.DOWN);
+        return elevator;
+    }
+
+    /**
+     * Creates a system with busy elevators
+     *
+     * @param random     generator of destinations
+     * @param elevators  how many elevators are in the building
+     * @param floors     how many floors are in the building
+     * @param queueDepth how many destinations each elevator should get
+     * @return system with busy elevators
+     */
+    static ElevatorSystem busySystem(Random random, int elevators, int floors, int queueDepth) {
+        ElevatorSystem system = new ElevatorSystem();
+        for (int i = 0; i < elevators; i++)
+            system.addElevator(busyElevator(i + 1, random, floors, queueDepth));
+        return system;
+    }
+}
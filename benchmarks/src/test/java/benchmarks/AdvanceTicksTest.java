@@ -0,0 +1,91 @@
+package benchmarks;
+
+import domain.Building;
+import domain.Elevator;
+import enums.Traffic;
+import org.junit.Test;
+import system.CostDispatch;
+import system.ElevatorSystem;
+import system.PredictiveParking;
+import system.TrafficGenerator;
+
+import static benchmarks.SystemAssert.assertSameState;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * This is a test which checks that skipping ticks without events gives the same result as making every tick
+ *
+ * One system makes every tick with advance(), the other jumps from one call to the next with advance(ticks).
+ * Traffic has peaks and long quiet periods, so elevators pass many floors at once, stop, turn and park.
+ *
+ * @see ElevatorSystem#advance(long)
+ */
+public class AdvanceTicksTest {
+    private static final int FLOORS = 20; //floors in the building
+    private static final int ELEVATORS = 6; //elevators in the building
+    private static final int TICKS_PER_DAY = 2_400; //length of a day, short so parking learns in a few days
+    private static final int DAYS = 6; //days compared
+
+    @Test
+    public void skippedTicksMatchSingleTicks() {
+        compare(false);
+    }
+
+    @Test
+    public void skippedTicksMatchSingleTicksWithParking() {
+        compare(true);
+    }
+
+    /**
+     * Runs the same calls in both systems and fails if they differ on any tick with calls
+     *
+     * @param parking whether idle elevators are parked by a predictive policy
+     */
+    private static void compare(boolean parking) {
+        Building building = new Building(FLOORS);
+        TrafficGenerator[] traffic = {
+                new TrafficGenerator(building, Traffic.UP_PEAK, 0.3, 1),
+                new TrafficGenerator(building, Traffic.LUNCH, 0.2, 2),
+                new TrafficGenerator(building, Traffic.DOWN_PEAK, 0.3, 3),
+                new TrafficGenerator(building, Traffic.INTERFLOOR, 0.005, 4)};
+        ElevatorSystem single = system(building, parking);
+        ElevatorSystem skipping = system(building, parking);
+
+        for (long tick = 0; tick < (long) TICKS_PER_DAY * DAYS; tick++) {
+            int time = (int) (tick % TICKS_PER_DAY);
+            TrafficGenerator generator = time >= 200 && time < 500 ? traffic[0]
+                    : time >= 1100 && time < 1300 ? traffic[1] : time >= 1800 && time < 2100 ? traffic[2] : traffic[3];
+            int calls = generator.nextTick();
+            if (calls == 0)
+                continue;
+            while (single.getTime() < tick)
+                single.advance();
+            skipping.advance(tick - skipping.getTime());
+            assertSameState("Tick " + tick, single, skipping);
+            for (int i = 0; i < calls; i++) {
+                single.pickup(generator.getOrigin(i), generator.getDirection(i), generator.getWeight(i));
+                skipping.pickup(generator.getOrigin(i), generator.getDirection(i), generator.getWeight(i));
+            }
+        }
+        if (parking)
+            assertTrue("Parking policy parked no elevator", ((PredictiveParking) single.getParkingPolicy()).getParked() > 0);
+    }
+
+    /**
+     * Creates system with elevators waiting in the lobby
+     *
+     * @param building where elevators are
+     * @param parking  whether idle elevators are parked by a predictive policy
+     * @return system without calls
+     */
+    private static ElevatorSystem system(Building building, boolean parking) {
+        ElevatorSystem system = new ElevatorSystem(building);
+        system.setDispatchStrategy(new CostDispatch());
+        for (int i = 0; i < ELEVATORS; i++)
+            system.addElevator(new Elevator(i + 1, 12, 900));
+        //uneven slots end in the middle of ticks between calls
+        if (parking)
+            system.setParkingPolicy(new PredictiveParking(TICKS_PER_DAY, 23, 0.7, 2));
+        return system;
+    }
+}
@@ -0,0 +1,74 @@
+package benchmarks;
+
+import domain.Elevator;
+import org.junit.Test;
+import system.CostDispatch;
+import system.DestinationDispatcher;
+import system.ElevatorSystem;
+import system.NearestDispatch;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * This is a test which checks that a person too heavy for some elevators is carried by another one
+ *
+ * A small elevator stands on the called floor and would be chosen by every strategy,
+ * but it can never carry the person, who would wait for it forever.
+ *
+ * @see ElevatorSystem#pickup(int, int, int)
+ */
+public class HeavyPersonTest {
+    private static final int HEAVY = 140; //weight of the person in kilograms
+
+    @Test
+    public void nearestDispatchSendsElevatorWhichCanCarry() {
+        ElevatorSystem system = system();
+        system.setDispatchStrategy(new NearestDispatch());
+        system.pickup(0, 5, HEAVY);
+        assertDelivered(system);
+    }
+
+    @Test
+    public void costDispatchSendsElevatorWhichCanCarry() {
+        ElevatorSystem system = system();
+        system.setDispatchStrategy(new CostDispatch());
+        system.pickup(0, 5, HEAVY);
+        assertDelivered(system);
+    }
+
+    @Test
+    public void destinationDispatchSendsElevatorWhichCanCarry() {
+        ElevatorSystem system = system();
+        DestinationDispatcher dispatcher = new DestinationDispatcher(system, 1, 4);
+        dispatcher.call(0, 5, HEAVY);
+        dispatcher.flush();
+        assertDelivered(system);
+    }
+
+    /**
+     * Creates system with a small elevator in the lobby and a big one far above
+     *
+     * @return system without calls
+     */
+    private static ElevatorSystem system() {
+        ElevatorSystem system = new ElevatorSystem();
+        system.addElevator(new Elevator(1, 1, 100));
+        Elevator big = new Elevator(2, 8, 600);
+        system.addElevator(big);
+        system.park(big, 20);
+        system.advance(100);
+        assertEquals("Floor of the big elevator", 20, big.getCurrentFloor());
+        return system;
+    }
+
+    /**
+     * Fails if the heavy person is not delivered by the big elevator soon
+     *
+     * @param system which was called
+     */
+    private static void assertDelivered(ElevatorSystem system) {
+        system.advance(100);
+        assertEquals("People waiting", 0, system.countPeopleWaiting());
+        assertEquals("People delivered by the big elevator", 1, system.getElevator(1).getPeopleDelivered());
+    }
+}
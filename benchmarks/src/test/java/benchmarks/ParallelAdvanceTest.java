@@ -0,0 +1,63 @@
+package benchmarks;
+
+import domain.Elevator;
+import org.junit.Test;
+import system.ElevatorSystem;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static benchmarks.SystemAssert.assertSameState;
+
+/**
+ * This is a test which checks that moving elevators in parallel gives the same result as moving them one after another
+ *
+ * Elevators are small and many of them reach the same floors, so floors are claimed by groups of elevators,
+ * people are left behind and called again, which are the parts where parallel ticks could go differently.
+ *
+ * @see ElevatorSystem#setPool(ForkJoinPool)
+ */
+public class ParallelAdvanceTest {
+    private static final int ELEVATORS = 300; //more than elevators needed to move them in parallel
+    private static final int FLOORS = 30; //floors in the building
+    private static final int CALLS_PER_TICK = 40; //calls made before every tick
+    private static final int TICKS = 500; //ticks compared
+
+    @Test
+    public void parallelTicksMatchSequentialTicks() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ElevatorSystem sequential = busySystem();
+            ElevatorSystem parallel = busySystem();
+            parallel.setPool(pool);
+
+            Random random = new Random(Workload.SEED);
+            for (int tick = 0; tick < TICKS; tick++) {
+                int[] origins = Workload.floors(random, CALLS_PER_TICK, FLOORS);
+                int[] directions = Workload.directions(random, origins, FLOORS);
+                for (int i = 0; i < CALLS_PER_TICK; i++) {
+                    int weight = 40 + random.nextInt(80);
+                    sequential.pickup(origins[i], directions[i], weight);
+                    parallel.pickup(origins[i], directions[i], weight);
+                }
+                sequential.advance();
+                parallel.advance();
+                assertSameState("Tick " + tick, sequential, parallel);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Creates system with small elevators, so people are often left behind
+     *
+     * @return system without calls
+     */
+    private static ElevatorSystem busySystem() {
+        ElevatorSystem system = new ElevatorSystem();
+        for (int i = 0; i < ELEVATORS; i++)
+            system.addElevator(new Elevator(i + 1, 4, 300));
+        return system;
+    }
+}
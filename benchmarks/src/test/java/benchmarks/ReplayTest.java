@@ -0,0 +1,149 @@
+package benchmarks;
+
+import domain.Building;
+import domain.Elevator;
+import enums.Traffic;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import system.CostDispatch;
+import system.DestinationDispatcher;
+import system.ElevatorSystem;
+import system.Journal;
+import system.NearestDispatch;
+import system.PredictiveParking;
+import system.Replay;
+import system.TrafficGenerator;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import static benchmarks.SystemAssert.assertSameState;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+/**
+ * This is a test which checks that a system rebuilt from its journal ends in the same state and writes the same journal
+ *
+ * @see Journal
+ * @see Replay
+ */
+public class ReplayTest {
+    private static final int FLOORS = 20; //floors in the building
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void skippedTicksAndParkingAreReplayed() throws IOException {
+        ElevatorSystem recorded = system(6);
+        recorded.setParkingPolicy(new PredictiveParking(2_400, 24, 0.7, 2));
+        TrafficGenerator traffic = new TrafficGenerator(recorded.getBuilding(), Traffic.INTERFLOOR, 0.1, Workload.SEED);
+        //journal starts in the middle of a run, from a snapshot with people waiting and riding
+        for (int tick = 0; tick < 5_000; tick++) {
+            traffic.pickupNext(recorded);
+            recorded.advance();
+        }
+        Path directory = folder.newFolder("recorded").toPath();
+        Journal journal = Journal.start(recorded, directory, 64);
+        for (int call = 0; call < 400; call++) {
+            traffic.pickupNext(recorded);
+            recorded.advance(1 + call % 60);
+        }
+        recorded.advance(5_000);
+        journal.close();
+
+        assertReplayedExactly(recorded, directory);
+    }
+
+    @Test
+    public void parallelTicksAreReplayed() throws IOException {
+        ElevatorSystem recorded = system(300);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        recorded.setPool(pool);
+        TrafficGenerator traffic = new TrafficGenerator(recorded.getBuilding(), Traffic.LUNCH, 20, Workload.SEED);
+        Path directory = folder.newFolder("recorded").toPath();
+        try (Journal journal = Journal.start(recorded, directory, 100)) {
+            for (int tick = 0; tick < 1_000; tick++) {
+                traffic.pickupNext(recorded);
+                recorded.advance();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertReplayedExactly(recorded, directory);
+    }
+
+    @Test
+    public void groupsAndMovesOfSingleElevatorsAreReplayed() throws IOException {
+        ElevatorSystem recorded = system(4);
+        DestinationDispatcher dispatcher = new DestinationDispatcher(recorded, 5, 4);
+        TrafficGenerator traffic = new TrafficGenerator(recorded.getBuilding(), Traffic.UP_PEAK, 0.5, Workload.SEED);
+        Path directory = folder.newFolder("recorded").toPath();
+        try (Journal journal = Journal.start(recorded, directory, 10)) {
+            for (int tick = 0; tick < 2_000; tick++) {
+                int calls = traffic.nextTick();
+                for (int i = 0; i < calls; i++)
+                    dispatcher.call(traffic.getOrigin(i), traffic.getOrigin(i) + traffic.getDirection(i), traffic.getWeight(i));
+                //every few ticks elevators are moved one by one, like in the interactive mode
+                if (tick % 7 == 0) {
+                    dispatcher.flush();
+                    for (int i = 0; i < recorded.countElevators(); i++)
+                        recorded.moveElevator(i);
+                    recorded.setTime(recorded.getTime() + 1);
+                } else {
+                    dispatcher.advance();
+                }
+            }
+        }
+
+        assertReplayedExactly(recorded, directory);
+    }
+
+    @Test
+    public void replayWithAnotherStrategyGoesDifferently() throws IOException {
+        ElevatorSystem recorded = system(6);
+        TrafficGenerator traffic = new TrafficGenerator(recorded.getBuilding(), Traffic.LUNCH, 0.5, Workload.SEED);
+        Path directory = folder.newFolder("recorded").toPath();
+        try (Journal journal = Journal.start(recorded, directory, 100)) {
+            for (int tick = 0; tick < 2_000; tick++) {
+                traffic.pickupNext(recorded);
+                recorded.advance();
+            }
+        }
+
+        Path output = folder.newFolder("nearest").toPath();
+        Replay.replay(directory, new NearestDispatch(), Long.MAX_VALUE, output);
+        assertNotEquals("Journal of nearest dispatch", -1, Replay.compare(directory, output));
+    }
+
+    /**
+     * Replays the journal with the recorded strategy and fails if the replayed system or its journal differ
+     *
+     * @param recorded  system which wrote the journal
+     * @param directory where the journal was written
+     * @throws IOException if journals can not be read or written
+     */
+    private void assertReplayedExactly(ElevatorSystem recorded, Path directory) throws IOException {
+        Path output = folder.newFolder("replayed").toPath();
+        ElevatorSystem replayed = Replay.replay(directory, null, Long.MAX_VALUE, output);
+        assertSameState("Replayed", recorded, replayed);
+        assertEquals("Ticks before the first different record", -1, Replay.compare(directory, output));
+    }
+
+    /**
+     * Creates system with cost dispatch
+     *
+     * @param elevators how many elevators are in the building
+     * @return system without calls
+     */
+    private static ElevatorSystem system(int elevators) {
+        ElevatorSystem system = new ElevatorSystem(new Building(FLOORS));
+        system.setDispatchStrategy(new CostDispatch());
+        for (int i = 0; i < elevators; i++)
+            system.addElevator(new Elevator(i + 1, 8, 600));
+        return system;
+    }
+}
@@ -0,0 +1,95 @@
+package benchmarks;
+
+import domain.Building;
+import domain.Elevator;
+import enums.Traffic;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import system.CostDispatch;
+import system.ElevatorSystem;
+import system.PredictiveParking;
+import system.Snapshot;
+import system.TrafficGenerator;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static benchmarks.SystemAssert.assertSameState;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * This is a test which checks that a restored system is in the same state as the saved one and goes on the same way
+ *
+ * @see Snapshot
+ */
+public class SnapshotTest {
+    private static final int FLOORS = 30; //floors in the building
+    private static final int TICKS = 3_000; //ticks made before saving and again after restoring
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void restoredSystemGoesOnLikeSavedOne() throws IOException {
+        Building building = new Building(FLOORS);
+        building.addLobby(FLOORS / 2);
+        ElevatorSystem saved = new ElevatorSystem(building);
+        saved.setDispatchStrategy(new CostDispatch());
+        for (int i = 0; i < 8; i++)
+            saved.addElevator(new Elevator(i + 1, 6, 450, building.zone(new int[][]{{1, 15}, {16, 29}}, i)));
+        //parking floors are saved too, so elevators are parked before saving
+        saved.setParkingPolicy(new PredictiveParking(1_000, 10, 0.5, 1));
+        TrafficGenerator traffic = new TrafficGenerator(building, Traffic.LUNCH, 1.5, Workload.SEED);
+        run(saved, traffic);
+        //quiet ticks until an elevator goes to its parking floor, while others still carry people
+        for (int tick = 0; tick < TICKS && !isParking(saved); tick++)
+            saved.advance();
+        assertTrue("No elevator is going to its parking floor", isParking(saved));
+        saved.setParkingPolicy(null);
+
+        Path file = folder.getRoot().toPath().resolve("snapshot.bin");
+        Snapshot.save(saved, file);
+        ElevatorSystem restored = Snapshot.load(file);
+        restored.setDispatchStrategy(new CostDispatch());
+        assertSameState("Restored", saved, restored);
+
+        //directions of stops decide the order of visiting them, so both systems must go on the same way
+        TrafficGenerator more = new TrafficGenerator(building, Traffic.LUNCH, 1.5, Workload.SEED + 1);
+        TrafficGenerator same = new TrafficGenerator(building, Traffic.LUNCH, 1.5, Workload.SEED + 1);
+        run(saved, more);
+        run(restored, same);
+        assertSameState(TICKS + " ticks after restoring", saved, restored);
+    }
+
+    /**
+     * Checks whether any elevator is going to its parking floor
+     *
+     * @param system to be checked
+     * @return true if some elevator is parking
+     */
+    private static boolean isParking(ElevatorSystem system) {
+        for (int i = 0; i < system.countElevators(); i++) {
+            if (system.getElevator(i).getParkingFloor() != -1)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Makes calls of the generator and ticks
+     *
+     * @param system  which is called
+     * @param traffic generator of calls
+     */
+    private static void run(ElevatorSystem system, TrafficGenerator traffic) {
+        for (int tick = 0; tick < TICKS; tick++) {
+            int calls = traffic.nextTick();
+            for (int i = 0; i < calls; i++) {
+                if (system.canServe(traffic.getOrigin(i), traffic.getOrigin(i) + traffic.getDirection(i)))
+                    system.pickup(traffic.getOrigin(i), traffic.getDirection(i), traffic.getWeight(i));
+            }
+            system.advance();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package benchmarks;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * This is a test which checks that a warmed up system allocates nothing while people call and get delivered
+ *
+ * Bytes allocated by the thread are read from ThreadMXBean of HotSpot. Ticks are measured in many short rounds,
+ * and the best round must allocate nothing: code allocating on every tick, or even once in a few thousand ticks,
+ * allocates in every round, while rare allocations of the JVM itself, ex. after recompiling a method, do not.
+ *
+ * @see SteadyStateBenchmark
+ */
+public class SteadyStateAllocationTest {
+    private static final int ROUNDS = 50; //rounds of measured ticks
+    private static final int TICKS = 2_000; //ticks of one round
+
+    @Test
+    public void smallBuildingAllocatesNothing() {
+        assertAllocatesNothing(16, 11, "nearest");
+    }
+
+    @Test
+    public void tallBuildingAllocatesNothing() {
+        assertAllocatesNothing(16, 121, "cost");
+    }
+
+    /**
+     * Warms up the system like the benchmark does and fails if every round of ticks allocated something
+     *
+     * @param elevators how many elevators are in the building
+     * @param floors    how many floors are in the building
+     * @param strategy  name of dispatch strategy
+     */
+    private static void assertAllocatesNothing(int elevators, int floors, String strategy) {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue("Allocated bytes can not be measured on this JVM", threads instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        Assume.assumeTrue("Allocated bytes are not measured", allocations.isThreadAllocatedMemoryEnabled());
+
+        SteadyStateBenchmark benchmark = new SteadyStateBenchmark();
+        benchmark.elevators = elevators;
+        benchmark.floors = floors;
+        benchmark.strategy = strategy;
+        benchmark.prepareSystem();
+
+        long thread = Thread.currentThread().getId();
+        long least = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS && least > 0; round++) {
+            long before = allocations.getThreadAllocatedBytes(thread);
+            for (int i = 0; i < TICKS; i++)
+                benchmark.tick();
+            least = Math.min(least, allocations.getThreadAllocatedBytes(thread) - before);
+        }
+        assertEquals("Bytes allocated in " + TICKS + " ticks of the best round", 0, least);
+    }
+}
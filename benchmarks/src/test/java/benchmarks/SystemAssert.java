@@ -0,0 +1,91 @@
+package benchmarks;
+
+import domain.Destinations;
+import domain.Elevator;
+import domain.Person;
+import system.ElevatorSystem;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * This is a class which checks that two systems are in the same state
+ */
+final class SystemAssert {
+    private SystemAssert() {
+    }
+
+    /**
+     * Fails if time, any elevator or people waiting on any floor differ
+     *
+     * @param when     told in the message, ex. tick on which systems are compared
+     * @param expected system in the expected state
+     * @param actual   system being checked
+     */
+    static void assertSameState(String when, ElevatorSystem expected, ElevatorSystem actual) {
+        assertEquals(when + ", time", expected.getTime(), actual.getTime());
+        assertEquals(when + ", elevators", expected.countElevators(), actual.countElevators());
+        for (int i = 0; i < expected.countElevators(); i++)
+            assertEquals(when + ", elevator " + i, describe(expected.getElevator(i)), describe(actual.getElevator(i)));
+        assertEquals(when + ", people waiting", describe(expected.getPeopleWaiting()), describe(actual.getPeopleWaiting()));
+        assertEquals(when + ", people delivered", expected.countPeopleDelivered(), actual.countPeopleDelivered());
+    }
+
+    /**
+     * Describes everything that makes state of the elevator
+     *
+     * @param elevator to be described
+     * @return floor, direction, stops with their directions, parking floor, counters and people inside
+     */
+    private static String describe(Elevator elevator) {
+        StringBuilder builder = new StringBuilder();
+        builder.append(elevator.getID()).append(" floor ").append(elevator.getCurrentFloor())
+                .append(' ').append(elevator.getDirection()).append(" stops [");
+        Destinations destinations = elevator.getDestination();
+        for (int i = 0; i < destinations.size(); i++) {
+            int floor = destinations.get(i);
+            builder.append(' ').append(floor).append(destinations.isGoingDown(floor) ? 'v' : '^');
+        }
+        builder.append(" ] parking ").append(elevator.getParkingFloor())
+                .append(" delivered ").append(elevator.getPeopleDelivered())
+                .append(" travelled ").append(elevator.getFloorsTravelled()).append(" inside");
+        for (int floor = 0; floor < elevator.getFloorsOfPeople(); floor++) {
+            for (Person person : elevator.getPeopleGoingTo(floor))
+                builder.append(' ').append(describe(person));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Describes people waiting on every floor
+     *
+     * @param peopleWaiting people waiting on every floor
+     * @return floors with people waiting and these people in order
+     */
+    private static String describe(List<List<Person>> peopleWaiting) {
+        StringBuilder builder = new StringBuilder();
+        for (int floor = 0; floor < peopleWaiting.size(); floor++) {
+            List<Person> waiting = peopleWaiting.get(floor);
+            if (waiting.isEmpty())
+                continue;
+            builder.append(floor).append(':');
+            for (Person person : waiting)
+                builder.append(' ').append(describe(person));
+            builder.append('\n');
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Describes person
+     *
+     * @param person to be described
+     * @return desired floor, weight, assigned elevator and time of call
+     */
+    private static String describe(Person person) {
+        Elevator assigned = person.getAssigned();
+        return person.getDesiredFloor() + "/" + person.getWeight() + "/" + (assigned != null ? assigned.getID() : 0)
+                + "@" + person.getCalledAt();
+    }
+}